@@ -0,0 +1,46 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.format.FormatHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.Json5ConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.SmileConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.TomlConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.YamlConfigurationHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared helpers for creating handlers and scratch files in benchmarks.
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {}
+
+    static FormatHandler createHandler(String format) {
+        return switch (format) {
+            case "json5" -> new Json5ConfigurationHandler();
+            case "toml" -> new TomlConfigurationHandler();
+            case "yaml" -> new YamlConfigurationHandler();
+            case "smile" -> new SmileConfigurationHandler();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("haydenapi-bench");
+    }
+
+    static void deleteDirectory(Path dir) throws IOException {
+        if (dir == null) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first {@link ConfigurationManager#initializeConfig(String, Class)} call in a freshly forked JVM,
+ * including class loading, Jackson mapper creation and schema resolution.
+ *
+ * <p>The setup writes the file as plain text so no HaydenAPI or Jackson class is loaded before the measured call.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdInitializeBenchmark {
+    @Param({"json5", "toml", "yaml"})
+    public String format;
+
+    private Path dir;
+    private String filename;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path file = dir.resolve("small." + format);
+        Files.writeString(file, SmallConfigText.of(format));
+        filename = file.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public Object initializeCold() throws Exception {
+        return new ConfigurationManager().initializeConfig(filename, SmallConfig.class);
+    }
+}
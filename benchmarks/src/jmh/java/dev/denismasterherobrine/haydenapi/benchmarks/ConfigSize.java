@@ -0,0 +1,24 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+/**
+ * The configuration sizes every benchmark is parameterized over.
+ */
+public enum ConfigSize {
+    SMALL(SmallConfig.class),
+    MEDIUM(MediumConfig.class),
+    HUGE(HugeConfig.class);
+
+    private final Class<?> configClass;
+
+    ConfigSize(Class<?> configClass) {
+        this.configClass = configClass;
+    }
+
+    public Class<?> getConfigClass() {
+        return configClass;
+    }
+
+    public Object newInstance() throws ReflectiveOperationException {
+        return configClass.getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,62 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ConfigurationManager#initializeConfig(String, Class)} on a warm JVM, with and without the
+ * snapshot cache. See {@link ColdInitializeBenchmark} for the first call in a fresh JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ConfigurationManagerBenchmark {
+    @Param({"json5", "toml", "yaml", "smile"})
+    public String format;
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public ConfigSize size;
+
+    @Param({"false", "true"})
+    public boolean snapshotCache;
+
+    private final ConfigurationManager manager = new ConfigurationManager();
+    private Path dir;
+    private String filename;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = BenchmarkFiles.createDirectory();
+        filename = dir.resolve("warm." + format).toString();
+        manager.setSnapshotCacheEnabled(snapshotCache);
+        manager.initializeConfig(filename, size.getConfigClass());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public Object initializeWarm() throws Exception {
+        return manager.initializeConfig(filename, size.getConfigClass());
+    }
+}
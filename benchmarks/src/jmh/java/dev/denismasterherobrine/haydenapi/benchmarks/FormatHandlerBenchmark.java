@@ -0,0 +1,95 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.format.FormatHandler;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load and save cost of each format handler across configuration sizes.
+ *
+ * <p>{@code load} and {@code save} go through the file system like mods do; {@code read} and {@code write}
+ * isolate parsing/binding and encoding from disk I/O. Saves include an fsync, so their numbers depend on the
+ * storage the benchmark runs on.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class FormatHandlerBenchmark {
+    @Param({"json5", "toml", "yaml", "smile"})
+    public String format;
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public ConfigSize size;
+
+    private Path dir;
+    private File loadFile;
+    private File saveFile;
+    private FormatHandler handler;
+    private ConfigSchema schema;
+    private Object config;
+    private byte[] source;
+    private ConfigValues values;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = BenchmarkFiles.createDirectory();
+        loadFile = dir.resolve("load." + format).toFile();
+        saveFile = dir.resolve("save." + format).toFile();
+        handler = BenchmarkFiles.createHandler(format);
+        schema = ConfigSchema.of(size.getConfigClass());
+        config = size.newInstance();
+
+        handler.save(loadFile, config);
+        source = Files.readAllBytes(loadFile.toPath());
+        values = ConfigValues.capture(schema);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public Object load() throws Exception {
+        return handler.load(loadFile, size.getConfigClass());
+    }
+
+    @Benchmark
+    public void save() throws Exception {
+        handler.save(saveFile, config);
+    }
+
+    @Benchmark
+    public ConfigValues read() throws IOException {
+        return handler.read(source, schema);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length);
+        handler.write(out, schema, values);
+        return out.size();
+    }
+}
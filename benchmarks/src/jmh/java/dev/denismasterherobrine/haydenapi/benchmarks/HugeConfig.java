@@ -0,0 +1,37 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modpack-scale allow/deny lists and weight tables with tens of thousands of values.
+ */
+@Config
+public class HugeConfig {
+    @Entry
+    @Comment("Master switch")
+    public static boolean enabled = true;
+
+    @Entry
+    @Reloadable
+    public static int checkInterval = 20;
+
+    @Entry
+    @Reloadable
+    @Comment("Blocks that cannot be broken")
+    public static List<String> blockDenyList = MediumConfig.ids("examplemod:block_", 20_000);
+
+    @Entry
+    public static List<String> entityAllowList = MediumConfig.ids("examplemod:entity_", 10_000);
+
+    @Entry
+    public static List<Integer> dimensionIds = MediumConfig.numbers(20_000);
+
+    @Entry
+    public static Map<String, Integer> lootWeights = MediumConfig.weights("examplemod:loot_", 5_000);
+}
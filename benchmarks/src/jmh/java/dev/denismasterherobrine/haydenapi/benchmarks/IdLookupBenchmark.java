@@ -0,0 +1,109 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.collection.IdSet;
+import dev.denismasterherobrine.haydenapi.configuration.collection.IntSet;
+import dev.denismasterherobrine.haydenapi.configuration.collection.SortedIdList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membership checks against an allow list of IDs, as done on every block break or entity spawn:
+ * the compact collection entry types against the plain collections Jackson binds by default.
+ * Half of the probes hit, half miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IdLookupBenchmark {
+    @Param({"100", "10000"})
+    public int entries;
+
+    private List<String> list;
+    private Set<String> hashSet;
+    private IdSet idSet;
+    private SortedIdList sortedIdList;
+    private Set<Integer> boxedInts;
+    private IntSet intSet;
+    private String[] probes;
+    private int[] intProbes;
+    private int probe;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>();
+        boxedInts = new HashSet<>();
+
+        for (int i = 0; i < entries; i++) {
+            list.add("examplemod:block_" + i);
+            boxedInts.add(i * 7);
+        }
+
+        hashSet = new HashSet<>(list);
+        idSet = IdSet.copyOf(list);
+        sortedIdList = SortedIdList.copyOf(list);
+        intSet = IntSet.of(boxedInts.stream().mapToInt(Integer::intValue).toArray());
+
+        probes = new String[1024];
+        intProbes = new int[1024];
+
+        for (int i = 0; i < probes.length; i++) {
+            int id = (i * 31) % (entries * 2);
+            // New string instances, like IDs built from registry keys at runtime.
+            probes[i] = new String("examplemod:block_" + id);
+            intProbes[i] = id * 7;
+        }
+    }
+
+    private int next() {
+        probe = (probe + 1) & 1023;
+        return probe;
+    }
+
+    @Benchmark
+    public boolean list() {
+        return list.contains(probes[next()]);
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        return hashSet.contains(probes[next()]);
+    }
+
+    @Benchmark
+    public boolean idSet() {
+        return idSet.contains(probes[next()]);
+    }
+
+    @Benchmark
+    public boolean sortedIdList() {
+        return sortedIdList.contains(probes[next()]);
+    }
+
+    @Benchmark
+    public boolean boxedIntSet() {
+        return boxedInts.contains(intProbes[next()]);
+    }
+
+    @Benchmark
+    public boolean intSet() {
+        return intSet.contains(intProbes[next()]);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several dozen entries with short lists and maps, typical for a content mod.
+ */
+@Config
+public class MediumConfig {
+    @Entry @Comment("General toggles") public static boolean enabled = true;
+    @Entry @Reloadable public static boolean debug = false;
+    @Entry @Reloadable public static boolean showParticles = true;
+    @Entry @Reloadable public static boolean playSounds = true;
+    @Entry public static boolean generateStructures = true;
+    @Entry @Comment("Spawning") public static int spawnWeight = 40;
+    @Entry @Reloadable public static int minGroupSize = 2;
+    @Entry @Reloadable public static int maxGroupSize = 6;
+    @Entry public static int spawnCap = 70;
+    @Entry public static int despawnDistance = 128;
+    @Entry @Comment("Combat") public static double damageMultiplier = 1.25;
+    @Entry @Reloadable public static double healthMultiplier = 2.0;
+    @Entry @Reloadable public static double knockback = 0.4;
+    @Entry public static double criticalChance = 0.05;
+    @Entry public static long cooldownTicks = 200L;
+    @Entry @Comment("Text") public static String difficulty = "normal";
+    @Entry public static String lootTable = "examplemod:chests/dungeon";
+    @Entry public static String colorHex = "#5F9EA0";
+    @Entry public static String timeout = "5m";
+    @Entry public static String welcomeMessage = "Welcome to the server, have fun!";
+    @Entry @Comment("Lists") public static List<String> biomes = ids("minecraft:biome_", 32);
+    @Entry public static List<String> blockedItems = ids("minecraft:item_", 32);
+    @Entry public static List<Integer> levels = numbers(32);
+    @Entry @Comment("Maps") public static Map<String, Integer> weights = weights("examplemod:entity_", 24);
+    @Entry public static Map<String, String> aliases = aliases(24);
+
+    static List<String> ids(String prefix, int count) {
+        List<String> ids = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + i);
+        }
+
+        return ids;
+    }
+
+    static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            numbers.add(i * 7);
+        }
+
+        return numbers;
+    }
+
+    static Map<String, Integer> weights(String prefix, int count) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            weights.put(prefix + i, i % 100);
+        }
+
+        return weights;
+    }
+
+    static Map<String, String> aliases(int count) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            aliases.put("alias_" + i, "minecraft:block_" + i);
+        }
+
+        return aliases;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot-reload path the file watcher takes, {@link ConfigurationManager#reloadConfig(File, Object, Class)}:
+ * once with a file that changed since the last reload and once with an unchanged file, which should be
+ * rejected by the fingerprint check without parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReloadBenchmark {
+    @Param({"json5", "toml", "yaml"})
+    public String format;
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public ConfigSize size;
+
+    private final ConfigurationManager manager = new ConfigurationManager();
+    private Path dir;
+    private File file;
+    private Object config;
+    private byte[][] versions;
+    private int version;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = BenchmarkFiles.createDirectory();
+        file = dir.resolve("reload." + format).toFile();
+        config = manager.createNewConfig(size.getConfigClass());
+        manager.saveConfig(file, config);
+        // The first reload parses the file and records its fingerprint.
+        reload();
+
+        // Two versions of the file that differ in content, written alternately before each changed reload.
+        byte[] original = Files.readAllBytes(file.toPath());
+        byte[] touched = new byte[original.length + 1];
+        System.arraycopy(original, 0, touched, 0, original.length);
+        touched[original.length] = '\n';
+        versions = new byte[][] {original, touched};
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public boolean reloadChanged(Rewrite rewrite) throws Exception {
+        return reload();
+    }
+
+    @Benchmark
+    public boolean reloadUnchanged() throws Exception {
+        return reload();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> boolean reload() throws Exception {
+        return manager.reloadConfig(file, (T) config, (Class<T>) size.getConfigClass());
+    }
+
+    /**
+     * Rewrites the file before every invocation, outside of the measurement.
+     */
+    @State(Scope.Thread)
+    public static class Rewrite {
+        @Setup(Level.Invocation)
+        public void rewrite(ReloadBenchmark benchmark) throws IOException {
+            benchmark.version ^= 1;
+            Files.write(benchmark.file.toPath(), benchmark.versions[benchmark.version]);
+        }
+    }
+}
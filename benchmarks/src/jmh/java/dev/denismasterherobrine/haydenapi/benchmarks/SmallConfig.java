@@ -0,0 +1,36 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A handful of scalar and collection entries, typical for a small mod.
+ */
+@Config
+public class SmallConfig {
+    @Entry
+    @Comment("Whether the feature is enabled")
+    public static boolean enabled = true;
+
+    @Entry
+    @Reloadable
+    public static int spawnRate = 12;
+
+    @Entry
+    @Reloadable
+    public static double damageMultiplier = 1.5;
+
+    @Entry
+    public static String mode = "balanced";
+
+    @Entry
+    public static List<String> dimensions = List.of("minecraft:overworld", "minecraft:the_nether", "minecraft:the_end");
+
+    @Entry
+    public static Map<String, Integer> limits = Map.of("zombie", 20, "skeleton", 15, "creeper", 5);
+}
@@ -0,0 +1,53 @@
+package dev.denismasterherobrine.haydenapi.benchmarks;
+
+/**
+ * Hand-written {@link SmallConfig} files, so cold-start benchmarks can create them without loading any
+ * HaydenAPI or Jackson class.
+ */
+final class SmallConfigText {
+    private SmallConfigText() {}
+
+    static String of(String format) {
+        return switch (format) {
+            case "json5" -> """
+                    {
+                      // Whether the feature is enabled
+                      "enabled": true,
+                      "spawnRate": 12,
+                      "damageMultiplier": 1.5,
+                      "mode": "balanced",
+                      "dimensions": ["minecraft:overworld","minecraft:the_nether","minecraft:the_end"],
+                      "limits": {"zombie":20,"skeleton":15,"creeper":5}
+                    }
+                    """;
+            case "toml" -> """
+                    enabled = true
+                    spawnRate = 12
+                    damageMultiplier = 1.5
+                    mode = 'balanced'
+                    dimensions = ['minecraft:overworld', 'minecraft:the_nether', 'minecraft:the_end']
+
+                    [limits]
+                    zombie = 20
+                    skeleton = 15
+                    creeper = 5
+                    """;
+            case "yaml" -> """
+                    ---
+                    enabled: true
+                    spawnRate: 12
+                    damageMultiplier: 1.5
+                    mode: "balanced"
+                    dimensions:
+                    - "minecraft:overworld"
+                    - "minecraft:the_nether"
+                    - "minecraft:the_end"
+                    limits:
+                      zombie: 20
+                      skeleton: 15
+                      creeper: 5
+                    """;
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+}
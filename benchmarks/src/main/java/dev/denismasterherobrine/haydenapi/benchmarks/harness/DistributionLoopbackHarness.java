@@ -0,0 +1,264 @@
+package dev.denismasterherobrine.haydenapi.benchmarks.harness;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.ConfigBundle;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.ConfigDistribution;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.DistributionTransport;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.FileDistributionTransport;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.SocketDistributionTransport;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSyncCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a publishing node and several subscribed nodes of config distribution in one process, once over a shared
+ * directory and once over loopback TCP connections.
+ *
+ * <p>Each subscriber has its own configuration handle. The harness checks that subscribers receive the full state
+ * when they start, that a reload reaches every subscriber as one delta, that a subscriber that starts late catches
+ * up, that a delta that does not build on the current version is rejected, that a delta that fails to apply is
+ * replaced by the full bundle, and that subscribers follow a restarted publisher. It prints the size of the delta next to the bytes a copy of the file to every node would take, and
+ * exits with a non-zero status if any check fails.</p>
+ */
+public final class DistributionLoopbackHarness {
+    @Config
+    public record FleetSettings(
+            @Reloadable int maxPlayers,
+            @Reloadable double spawnRadius,
+            @Reloadable boolean whitelist,
+            @Reloadable List<String> bannedItems,
+            @Reloadable Map<String, Integer> kitCooldowns,
+            @Reloadable String motd) {
+        public FleetSettings {
+            if (maxPlayers < 0) {
+                throw new IllegalArgumentException("maxPlayers must not be negative");
+            }
+        }
+
+        public FleetSettings() {
+            this(100, 16.0, false, List.of(), Map.of(), "");
+        }
+    }
+
+    private static final int SUBSCRIBERS = 8;
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        // Reconnect quickly when the publisher is restarted.
+        System.setProperty("haydenapi.config.distributionReconnectMs", "100");
+
+        Path shared = Files.createTempDirectory("haydenapi-distribution");
+        run("file", () -> new FileDistributionTransport(shared), () -> new FileDistributionTransport(shared));
+
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        SocketDistributionTransport[] bound = new SocketDistributionTransport[1];
+        run("socket", () -> {
+            // Restarts bind the port of the first run, so that subscribers reconnect to it.
+            InetSocketAddress bind = bound[0] != null ? bound[0].getAddress() : address;
+            bound[0] = new SocketDistributionTransport(bind);
+            return bound[0];
+        }, () -> new SocketDistributionTransport(bound[0].getAddress()));
+
+        if (failures > 0) {
+            System.err.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+
+        System.out.println("All distribution loopback checks passed");
+    }
+
+    private static void run(String name, TransportFactory publisherTransport, TransportFactory subscriberTransport)
+            throws Exception {
+        Path dir = Files.createTempDirectory("haydenapi-distribution-" + name);
+        File file = dir.resolve("fleet.json5").toFile();
+        Files.writeString(file.toPath(), content(200, "Welcome"));
+
+        ConfigurationManager manager = new ConfigurationManager();
+        SnapshotConfig<FleetSettings> source = manager.initializeSnapshotConfig(file.getPath(), FleetSettings.class);
+        ConfigDistribution publisher = manager.getDistribution();
+        publisher.register(file, source);
+        CountingTransport transport = new CountingTransport(publisherTransport.create());
+        publisher.startPublisher(transport);
+
+        List<Node> nodes = new ArrayList<>();
+
+        for (int i = 0; i < SUBSCRIBERS - 1; i++) {
+            nodes.add(startNode(subscriberTransport.create()));
+        }
+
+        // Join: every subscriber starts from the full state of the publisher.
+        awaitConverged(name + " join", nodes, source, publisher);
+
+        // Reload: one delta reaches every subscriber.
+        Files.writeString(file.toPath(), content(250, "Welcome back"));
+        manager.reloadConfig(file, source);
+        awaitConverged(name + " delta", nodes, source, publisher);
+        check(publisher.getVersion() == 2, name + ": reload publishes version 2, got " + publisher.getVersion());
+
+        check(transport.deltas == 1, name + ": a reload broadcasts one delta, got " + transport.deltas);
+        System.out.printf("%s: a change of 2 entries is one %d byte delta (full bundle %d bytes), "
+                        + "copying the file to %d nodes takes %d x %d bytes%n",
+                name, transport.lastDelta, transport.lastFull, SUBSCRIBERS - 1, SUBSCRIBERS - 1, file.length());
+
+        // A node that starts after several versions catches up.
+        Files.writeString(file.toPath(), content(300, "Welcome back"));
+        manager.reloadConfig(file, source);
+        nodes.add(startNode(subscriberTransport.create()));
+        awaitConverged(name + " late join", nodes, source, publisher);
+
+        // A delta that does not build on the current version is not applied.
+        Node first = nodes.get(0);
+        long version = first.distribution.getVersion();
+        byte[] gap = new ConfigBundle(ConfigBundle.Kind.DELTA, first.distribution.getEpoch(), version + 5, version + 4,
+                List.of()).encode();
+        check(!first.distribution.receive(gap), name + ": a delta with a gap is rejected");
+        check(first.distribution.getVersion() == version, name + ": a rejected delta keeps the version");
+
+        // A delta that fails to apply leaves the values alone and is replaced by the full bundle.
+        ConfigSchema schema = ConfigSchema.of(FleetSettings.class);
+        ConfigValues invalid = new ConfigValues(schema);
+        invalid.set(schema.getEntry("maxPlayers").getIndex(), -1);
+        byte[] failing = new ConfigBundle(ConfigBundle.Kind.DELTA, first.distribution.getEpoch(), version + 1, version,
+                List.of(new ConfigSyncCodec().encode(ConfigSyncCodec.Kind.DELTA, schema, invalid))).encode();
+        first.distribution.receive(failing);
+        awaitConverged(name + " failed delta", nodes, source, publisher);
+
+        // A restarted publisher starts a new epoch, subscribers take its full state although the version is lower.
+        publisher.stop();
+        Files.writeString(file.toPath(), content(400, "Restarted"));
+        manager.reloadConfig(file, source);
+        publisher.startPublisher(publisherTransport.create());
+        check(publisher.getVersion() == 1, name + ": a restarted publisher starts at version 1");
+        awaitConverged(name + " restart", nodes, source, publisher);
+        publisher.stop();
+
+        for (Node node : nodes) {
+            node.distribution.stop();
+        }
+
+        long saves = nodes.stream().mapToLong(node -> node.saves.get()).sum();
+        check(saves > 0, name + ": subscribers save received changes");
+    }
+
+    private static Node startNode(DistributionTransport transport) throws IOException {
+        SnapshotConfig<FleetSettings> config = new SnapshotConfig<>(FleetSettings.class, new FleetSettings());
+        AtomicLong saves = new AtomicLong();
+        ConfigDistribution distribution = new ConfigDistribution(new ConfigListeners(Runnable::run), Runnable::run,
+                (file, saved) -> saves.incrementAndGet());
+        // The file is only handed to the saver, which counts saves instead of writing.
+        distribution.register(new File("fleet.json5"), config);
+        distribution.startSubscriber(transport);
+        return new Node(distribution, config, saves);
+    }
+
+    private static void awaitConverged(String step, List<Node> nodes, SnapshotConfig<FleetSettings> source,
+                                       ConfigDistribution publisher) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (nodes.stream().allMatch(node -> converged(node, source, publisher))) {
+                return;
+            }
+
+            Thread.sleep(10);
+        }
+
+        for (Node node : nodes) {
+            check(converged(node, source, publisher), step + ": subscriber at version "
+                    + node.distribution.getVersion() + " has " + node.config.get());
+        }
+    }
+
+    private static boolean converged(Node node, SnapshotConfig<FleetSettings> source, ConfigDistribution publisher) {
+        return node.config.get().equals(source.get())
+                && node.distribution.getEpoch() == publisher.getEpoch()
+                && node.distribution.getVersion() == publisher.getVersion();
+    }
+
+    private static String content(int maxPlayers, String motd) {
+        String banned = IntStream.range(0, 40)
+                .mapToObj(i -> "\"examplemod:item_" + i + "\"")
+                .collect(Collectors.joining(", "));
+        String cooldowns = IntStream.range(0, 40)
+                .mapToObj(i -> "kit" + i + ": " + (i * 30))
+                .collect(Collectors.joining(", "));
+        return "{\n  maxPlayers: " + maxPlayers + ",\n  spawnRadius: 24.5,\n  whitelist: true,\n  bannedItems: ["
+                + banned + "],\n  kitCooldowns: {" + cooldowns + "},\n  motd: \"" + motd + "\"\n}\n";
+    }
+
+    @FunctionalInterface
+    private interface TransportFactory {
+        DistributionTransport create() throws IOException;
+    }
+
+    /**
+     * Records the size of the bundles the publisher sends.
+     */
+    private static final class CountingTransport implements DistributionTransport {
+        private final DistributionTransport delegate;
+        private volatile int deltas;
+        private volatile int lastDelta;
+        private volatile int lastFull;
+
+        CountingTransport(DistributionTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void startPublisher(byte[] full) throws IOException {
+            delegate.startPublisher(full);
+        }
+
+        @Override
+        public void broadcast(byte[] delta, byte[] full) throws IOException {
+            deltas++;
+            lastDelta = delta.length;
+            lastFull = full.length;
+            delegate.broadcast(delta, full);
+        }
+
+        @Override
+        public void startSubscriber(ConfigDistribution distribution) throws IOException {
+            delegate.startSubscriber(distribution);
+        }
+
+        @Override
+        public void requestFull() throws IOException {
+            delegate.requestFull();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private record Node(ConfigDistribution distribution, SnapshotConfig<FleetSettings> config, AtomicLong saves) {
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            failures++;
+            System.err.println("FAILED: " + description);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package dev.denismasterherobrine.haydenapi.benchmarks.harness;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+import dev.denismasterherobrine.haydenapi.configuration.io.AtomicFileWriter;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.watch.ConfigWatcher;
+
+import java.io.File;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rewrites configuration files continuously while many reader threads sample the loaded values.
+ *
+ * <p>Every value of a written version is derived from the version number, so a reader can tell from a single
+ * sample whether all values belong to the same version. The harness checks that:</p>
+ * <ul>
+ *     <li>snapshot (record) configurations are never observed torn or mixed between versions,</li>
+ *     <li>the observed version never goes backwards, i.e. an older reload never overwrites a newer one,</li>
+ *     <li>the last version written is always loaded in the end, i.e. no reload is lost, even when the watcher
+ *     and explicit reloads race and files are rewritten in place instead of atomically.</li>
+ * </ul>
+ *
+ * <p>Configurations with static entries are reloaded one field at a time, so readers can see a mix of two
+ * versions while a reload is applied; such samples are counted and reported, but only a final state that
+ * does not converge fails the run. It also reports the latency from writing a file to the first reader that
+ * observes the new version.</p>
+ *
+ * <p>Runs headless: {@code ./gradlew :benchmarks:reloadTorture -Pargs="--seconds 30 --readers 8"}.
+ * Exits with a non-zero status if any check fails.</p>
+ */
+public final class ReloadTortureHarness {
+    @Config
+    public record SnapshotStress(@Reloadable int version, @Reloadable long checksum, @Reloadable String label,
+                                 @Reloadable List<Integer> window) {
+        public SnapshotStress() {
+            this(0, checksumOf(0), labelOf(0), windowOf(0));
+        }
+    }
+
+    @Config
+    public static class StaticStress {
+        @Entry
+        @Reloadable
+        public static int version = 0;
+
+        @Entry
+        @Reloadable
+        public static long checksum = checksumOf(0);
+
+        @Entry
+        @Reloadable
+        public static String label = labelOf(0);
+
+        @Entry
+        @Reloadable
+        public static List<Integer> window = windowOf(0);
+    }
+
+    private static final ConcurrentLinkedQueue<String> problems = new ConcurrentLinkedQueue<>();
+
+    public static void main(String[] args) throws Exception {
+        int seconds = intArg(args, "--seconds", 10);
+        int readers = intArg(args, "--readers", Math.max(2, Runtime.getRuntime().availableProcessors() - 2));
+        int debounceMillis = intArg(args, "--debounce", 20);
+
+        ConfigWatcher.getInstance().setDebounce(Duration.ofMillis(debounceMillis));
+        Path dir = Files.createTempDirectory("haydenapi-torture");
+        ConfigurationManager manager = new ConfigurationManager();
+
+        File snapshotFile = dir.resolve("snapshot.json5").toFile();
+        File staticFile = dir.resolve("static.toml").toFile();
+        write(snapshotFile, 0, true);
+        write(staticFile, 0, true);
+
+        SnapshotConfig<SnapshotStress> snapshot = manager.initializeSnapshotConfig(snapshotFile.getPath(),
+                SnapshotStress.class);
+        manager.initializeConfig(staticFile.getPath(), StaticStress.class);
+
+        System.out.println("Rewriting 2 files for " + seconds + "s with " + readers + " readers, debounce "
+                + debounceMillis + "ms");
+
+        int maxVersions = seconds * 2000 + 16;
+        AtomicLongArray writtenAt = new AtomicLongArray(maxVersions);
+        AtomicLongArray seenAt = new AtomicLongArray(maxVersions);
+        AtomicLong mixedStaticSamples = new AtomicLong();
+        AtomicLong samples = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch readersDone = new CountDownLatch(readers);
+
+        for (int i = 0; i < readers; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    read(snapshot, running, seenAt, samples, mixedStaticSamples);
+                } finally {
+                    readersDone.countDown();
+                }
+            }, "Torture Reader " + i);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        // Explicit reloads race with the watcher, as with a reload command issued while a file is being edited.
+        Thread reloader = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    manager.reloadConfig(snapshotFile, snapshot);
+                    manager.reloadConfig(staticFile, new StaticStress(), StaticStress.class);
+                } catch (Exception e) {
+                    // Files rewritten in place can be caught half written; the next change retries the reload.
+                }
+                sleepMillis(ThreadLocalRandom.current().nextInt(1, 15));
+            }
+        }, "Torture Reloader");
+        reloader.setDaemon(true);
+        reloader.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        int version = 0;
+
+        while (System.nanoTime() < deadline && version < maxVersions - 1) {
+            version++;
+            boolean atomic = ThreadLocalRandom.current().nextInt(4) != 0;
+            writtenAt.set(version, System.nanoTime());
+            write(snapshotFile, version, atomic);
+            write(staticFile, version, atomic);
+            sleepMillis(ThreadLocalRandom.current().nextInt(0, 3 * debounceMillis));
+        }
+
+        int lastVersion = version;
+        // Make sure the last write is a complete file with a new timestamp, then wait for it to become visible.
+        sleepMillis(debounceMillis);
+        write(snapshotFile, lastVersion, true);
+        write(staticFile, lastVersion, true);
+
+        boolean converged = awaitVersion(snapshot, lastVersion, Duration.ofSeconds(10));
+        running.set(false);
+        readersDone.await(5, TimeUnit.SECONDS);
+        reloader.join(5000);
+
+        if (!converged) {
+            problems.add("lost reload: expected final version " + lastVersion + " but snapshot has "
+                    + snapshot.get().version() + " and static entries have " + StaticStress.version);
+        } else {
+            checkStaticConsistent(lastVersion);
+        }
+
+        printLatencies(writtenAt, seenAt, lastVersion);
+        System.out.println(samples.get() + " samples, " + lastVersion + " versions written, "
+                + mixedStaticSamples.get() + " mixed-version samples of static entries (expected while a reload "
+                + "is applied field by field)");
+
+        if (!problems.isEmpty()) {
+            problems.stream().limit(20).forEach(problem -> System.err.println("FAILED: " + problem));
+            System.err.println(problems.size() + " problem(s) found");
+            System.exit(1);
+        }
+
+        System.out.println("All reload torture checks passed");
+    }
+
+    private static void read(SnapshotConfig<SnapshotStress> snapshot, AtomicBoolean running, AtomicLongArray seenAt,
+                             AtomicLong samples, AtomicLong mixedStaticSamples) {
+        int lastSnapshotVersion = 0;
+        long count = 0;
+
+        while (running.get()) {
+            SnapshotStress current = snapshot.get();
+            int version = current.version();
+
+            if (!isConsistent(version, current.checksum(), current.label(), current.window())) {
+                problems.add("torn snapshot: " + current);
+            }
+
+            if (version < lastSnapshotVersion) {
+                problems.add("snapshot went back from version " + lastSnapshotVersion + " to " + version);
+            }
+
+            if (version > lastSnapshotVersion) {
+                long now = System.nanoTime();
+
+                for (int seen = lastSnapshotVersion + 1; seen <= version && seen < seenAt.length(); seen++) {
+                    seenAt.compareAndSet(seen, 0, now);
+                }
+
+                lastSnapshotVersion = version;
+            }
+
+            // Game threads pass synchronization points every tick; without one, the JIT may hoist the plain
+            // static reads out of this loop and the reader would never observe a reload.
+            VarHandle.acquireFence();
+
+            if (!isConsistent(StaticStress.version, StaticStress.checksum, StaticStress.label, StaticStress.window)) {
+                mixedStaticSamples.incrementAndGet();
+            }
+
+            count++;
+        }
+
+        samples.addAndGet(count);
+    }
+
+    private static boolean awaitVersion(SnapshotConfig<SnapshotStress> snapshot, int version, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (snapshot.get().version() == version && StaticStress.version == version
+                    && isConsistent(version, StaticStress.checksum, StaticStress.label, StaticStress.window)) {
+                return true;
+            }
+            sleepMillis(5);
+        }
+
+        return false;
+    }
+
+    private static void checkStaticConsistent(int version) {
+        if (!isConsistent(version, StaticStress.checksum, StaticStress.label, StaticStress.window)) {
+            problems.add("static entries did not converge to version " + version + ": checksum "
+                    + StaticStress.checksum + ", label " + StaticStress.label + ", window " + StaticStress.window);
+        }
+    }
+
+    private static void printLatencies(AtomicLongArray writtenAt, AtomicLongArray seenAt, int lastVersion) {
+        long[] latencies = new long[lastVersion];
+        int count = 0;
+
+        for (int version = 1; version <= lastVersion; version++) {
+            long written = writtenAt.get(version);
+            long seen = seenAt.get(version);
+
+            if (written != 0 && seen != 0) {
+                latencies[count++] = Math.max(0, seen - written);
+            }
+        }
+
+        if (count == 0) {
+            System.out.println("No reload was observed by the readers");
+            return;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("Reload-to-visibility latency over %d versions: p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, "
+                        + "max %.1f ms%n", count, millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+                sorted[count - 1] / 1e6);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    private static void write(File file, int version, boolean atomic) throws Exception {
+        String content = file.getName().endsWith(".toml")
+                ? "version = " + version + "\nchecksum = " + checksumOf(version) + "\nlabel = \"" + labelOf(version)
+                + "\"\nwindow = " + windowOf(version) + "\n"
+                : "{\n  version: " + version + ",\n  checksum: " + checksumOf(version) + ",\n  label: \""
+                + labelOf(version) + "\",\n  window: " + windowOf(version) + "\n}\n";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        if (atomic) {
+            AtomicFileWriter.write(file.toPath(), bytes);
+        } else {
+            Files.write(file.toPath(), bytes);
+        }
+    }
+
+    private static boolean isConsistent(int version, long checksum, String label, List<Integer> window) {
+        return checksum == checksumOf(version) && labelOf(version).equals(label) && windowOf(version).equals(window);
+    }
+
+    private static long checksumOf(int version) {
+        long hash = version * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static String labelOf(int version) {
+        return "version-" + version;
+    }
+
+    private static List<Integer> windowOf(int version) {
+        List<Integer> window = new ArrayList<>(3);
+
+        for (int i = 0; i < 3; i++) {
+            window.add(version + i);
+        }
+
+        return window;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+
+        return defaultValue;
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package dev.denismasterherobrine.haydenapi.benchmarks.harness;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the startup cost of HaydenAPI configurations on a headless server launch.
+ *
+ * <p>Every measured launch is a fresh JVM that bootstraps a configuration manager and loads the configurations of
+ * a typical mod pack, all in one format, exactly like the platform entrypoints do. The harness compares:</p>
+ * <ul>
+ *     <li>{@code lazy}: only the format in use is initialized,</li>
+ *     <li>{@code eager}: every built-in format is initialized first, like the bootstrap used to,</li>
+ *     <li>{@code archive}: like {@code lazy}, with the class data sharing archive given by {@code --archive}.</li>
+ * </ul>
+ * <p>For each variant it prints the median and minimum wall time of the whole process and of the bootstrap inside
+ * {@code main}, together with the number of loaded classes.</p>
+ *
+ * <p>Usage: {@code StartupHarness [--runs 15] [--format json5] [--archive build/cds/haydenapi.jsa]}.
+ * {@code --train} performs one launch in the current JVM, as the training run for a class list or an archive.
+ * An archive file ending in {@code .aot} is passed as a JDK 24+ ahead-of-time cache, any other file as an
+ * AppCDS archive.</p>
+ */
+public final class StartupHarness {
+    @Config
+    public record WorldGenSettings(
+            @Comment("Chance of an ore vein per chunk") double veinChance,
+            int minVeinSize,
+            int maxVeinSize,
+            List<String> enabledDimensions,
+            Map<String, Integer> biomeWeights) {
+        public WorldGenSettings() {
+            this(0.35, 4, 12, List.of("minecraft:overworld", "minecraft:the_nether"),
+                    Map.of("minecraft:plains", 10, "minecraft:desert", 4, "minecraft:taiga", 6));
+        }
+    }
+
+    @Config
+    public record MobSettings(@Reloadable int maxMobs, @Reloadable double spawnMultiplier, boolean despawnFarAway,
+                              List<String> blacklist) {
+        public MobSettings() {
+            this(70, 1.0, true, List.of("minecraft:phantom"));
+        }
+    }
+
+    @Config
+    public record EconomySettings(long startingBalance, double taxRate, Map<String, Long> prices, String currency) {
+        public EconomySettings() {
+            this(1000L, 0.05, Map.of("minecraft:diamond", 500L, "minecraft:iron_ingot", 20L), "coins");
+        }
+    }
+
+    @Config
+    public record ChatSettings(@Reloadable String format, @Reloadable List<String> filteredWords, boolean allowColors) {
+        public ChatSettings() {
+            this("<{player}> {message}", List.of("spam"), false);
+        }
+    }
+
+    @Config
+    public static class ServerUtilities {
+        @Entry @Comment("Seconds between automatic saves") @Reloadable
+        public static int autosaveInterval = 300;
+        @Entry
+        public static boolean announceRestarts = true;
+        @Entry
+        public static List<String> restartTimes = List.of("04:00", "16:00");
+        @Entry
+        public static String motd = "A HaydenAPI server";
+    }
+
+    @Config
+    public static class PerformanceTweaks {
+        @Entry
+        public static int entityTickRadius = 8;
+        @Entry
+        public static int maxItemEntities = 400;
+        @Entry
+        public static boolean mergeXpOrbs = true;
+        @Entry
+        public static double itemMergeRadius = 2.5;
+    }
+
+    @Config
+    public static class Permissions {
+        @Entry
+        public static Map<String, List<String>> groups = Map.of(
+                "default", List.of("home.use", "spawn.use"),
+                "moderator", List.of("kick", "mute", "tp"));
+        @Entry
+        public static String defaultGroup = "default";
+    }
+
+    @Config
+    public record ClaimSettings(int maxClaims, int maxClaimArea, boolean explosionsInClaims, List<String> trustedItems) {
+        public ClaimSettings() {
+            this(8, 65536, false, List.of("minecraft:torch"));
+        }
+    }
+
+    private static final List<Class<?>> CONFIGS = List.of(WorldGenSettings.class, MobSettings.class,
+            EconomySettings.class, ChatSettings.class, ServerUtilities.class, PerformanceTweaks.class,
+            Permissions.class, ClaimSettings.class);
+    private static final List<String> BUILT_IN_FORMATS = List.of("json5", "toml", "yaml", "smile");
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = Arrays.asList(args);
+
+        if (arguments.contains("--launch")) {
+            launch(Path.of(option(arguments, "--launch", null)), option(arguments, "--format", "json5"),
+                    arguments.contains("--eager"));
+            return;
+        }
+
+        String format = option(arguments, "--format", "json5");
+
+        if (arguments.contains("--train")) {
+            // The first launch creates the files, the second one reads them, so both paths are recorded.
+            Path dir = Files.createTempDirectory("haydenapi-startup-train");
+            launch(dir, format, false);
+            launch(dir, format, false);
+            return;
+        }
+
+        int runs = Integer.parseInt(option(arguments, "--runs", "15"));
+        String archive = option(arguments, "--archive", null);
+        Path dir = Files.createTempDirectory("haydenapi-startup");
+
+        // Writes the default files, so that the measured launches load existing configurations.
+        run(List.of(), dir, format, false);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("lazy", List.of());
+        variants.put("eager", List.of());
+
+        if (archive != null && Files.exists(Path.of(archive))) {
+            variants.put("archive", List.of(archive.endsWith(".aot")
+                    ? "-XX:AOTCache=" + archive : "-XX:SharedArchiveFile=" + archive));
+        } else if (archive != null) {
+            System.out.println("Archive " + archive + " does not exist, skipping the archive variant");
+        }
+
+        System.out.printf("%d launches per variant, %d %s configurations%n", runs, CONFIGS.size(), format);
+        System.out.printf("%-8s %14s %14s %14s %14s %8s%n", "variant", "wall median", "wall min",
+                "bootstrap med", "bootstrap min", "classes");
+
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            boolean eager = variant.getKey().equals("eager");
+            long[] wall = new long[runs];
+            long[] bootstrap = new long[runs];
+            long classes = 0;
+
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                Launch launch = run(variant.getValue(), dir, format, eager);
+                wall[i] = System.nanoTime() - start;
+                bootstrap[i] = launch.bootstrapNanos();
+                classes = launch.loadedClasses();
+            }
+
+            Arrays.sort(wall);
+            Arrays.sort(bootstrap);
+            System.out.printf("%-8s %11.1f ms %11.1f ms %11.1f ms %11.1f ms %8d%n", variant.getKey(),
+                    millis(wall[runs / 2]), millis(wall[0]), millis(bootstrap[runs / 2]), millis(bootstrap[0]),
+                    classes);
+        }
+    }
+
+    private static void launch(Path dir, String format, boolean eager) throws Exception {
+        long start = System.nanoTime();
+        ConfigurationManager manager = new ConfigurationManager();
+
+        if (eager) {
+            for (String builtIn : BUILT_IN_FORMATS) {
+                manager.getFormats().get(builtIn);
+            }
+        }
+
+        Map<String, Class<?>> configs = new LinkedHashMap<>();
+
+        for (Class<?> config : CONFIGS) {
+            configs.put(dir.resolve(config.getSimpleName() + "." + format).toString(), config);
+        }
+
+        manager.initializeConfigs(configs);
+        long bootstrap = System.nanoTime() - start;
+        long classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        System.out.println("READY " + bootstrap + " " + classes);
+    }
+
+    private static Launch run(List<String> jvmArgs, Path dir, String format, boolean eager)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupHarness.class.getName());
+        command.add("--launch");
+        command.add(dir.toString());
+        command.add("--format");
+        command.add(format);
+
+        if (eager) {
+            command.add("--eager");
+        }
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String ready = null;
+        List<String> output = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+
+                if (line.startsWith("READY ")) {
+                    ready = line;
+                }
+            }
+        }
+
+        if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0 || ready == null) {
+            throw new IllegalStateException("Launch failed: " + String.join("\n", output));
+        }
+
+        String[] parts = ready.split(" ");
+        return new Launch(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+
+    private static String option(List<String> arguments, String name, String defaultValue) {
+        int index = arguments.indexOf(name);
+        return index >= 0 && index + 1 < arguments.size() ? arguments.get(index + 1) : defaultValue;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Launch(long bootstrapNanos, long loadedClasses) {
+    }
+}
@@ -0,0 +1,166 @@
+package dev.denismasterherobrine.haydenapi.benchmarks.harness;
+
+import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSyncCodec;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Runs the server and the client side of config sync in one process, with a queue in place of the network.
+ *
+ * <p>The server and the client each load the configuration from their own file. The harness checks that a join
+ * replaces the client values, that a reload sends only the changed entries, that messages of unknown configurations
+ * are ignored, that a local reload on the client keeps the values of the server and that leaving the server
+ * restores the local values, including the reloaded ones. It exits with a non-zero status if any check fails.</p>
+ */
+public final class SyncLoopbackHarness {
+    @Config
+    public record SyncedSettings(
+            @Comment("Maximum number of claims per player") @Reloadable int maxClaims,
+            @Reloadable double pvpDamageMultiplier,
+            @Reloadable boolean allowFlight,
+            @Reloadable List<String> bannedItems,
+            @Reloadable String motd) {
+        public SyncedSettings() {
+            this(8, 1.0, false, List.of(), "");
+        }
+    }
+
+    private static final SyncedSettings CLIENT_LOCAL =
+            new SyncedSettings(1, 1.0, false, List.of(), "local");
+    private static final SyncedSettings CLIENT_EDITED =
+            new SyncedSettings(2, 1.0, false, List.of(), "edited");
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("haydenapi-sync");
+        File file = dir.resolve("synced.json5").toFile();
+        Files.writeString(file.toPath(), """
+                {
+                  maxClaims: 16,
+                  pvpDamageMultiplier: 0.5,
+                  allowFlight: true,
+                  bannedItems: ["minecraft:tnt", "minecraft:end_crystal"],
+                  motd: "Welcome"
+                }
+                """);
+
+        ConfigurationManager manager = new ConfigurationManager();
+        SnapshotConfig<SyncedSettings> server = manager.initializeSnapshotConfig(file.getPath(), SyncedSettings.class);
+        Queue<byte[]> wire = new ArrayDeque<>();
+        manager.getSync().register(server);
+        manager.getSync().setBroadcaster(wire::add);
+
+        File clientFile = dir.resolve("client.json5").toFile();
+        Files.writeString(clientFile.toPath(), clientContent(CLIENT_LOCAL));
+        ConfigurationManager clientManager = new ConfigurationManager();
+        SnapshotConfig<SyncedSettings> client =
+                clientManager.initializeSnapshotConfig(clientFile.getPath(), SyncedSettings.class);
+        check(client.get().equals(CLIENT_LOCAL), "client starts with its local values: " + client.get());
+        ConfigSync clientSync = clientManager.getSync();
+        clientSync.register(client);
+
+        // Join: every synced configuration is sent in full.
+        List<byte[]> join = manager.getSync().encodeAll();
+        check(join.size() == 1, "join sends one message per synced configuration, got " + join.size());
+        ConfigSyncCodec.Message full = decode(join.get(0));
+        check(full.kind() == ConfigSyncCodec.Kind.FULL, "join message is a full message");
+        check(present(full) == 5, "full message carries every entry, got " + present(full));
+
+        for (byte[] message : join) {
+            check(clientSync.receive(message), "client applies the join message");
+        }
+
+        check(client.get().equals(server.get()), "client matches server after join: " + client.get());
+        System.out.println("join: " + join.get(0).length + " bytes");
+
+        // Reload: only the changed entries are sent.
+        Files.writeString(file.toPath(), """
+                {
+                  maxClaims: 32,
+                  pvpDamageMultiplier: 0.5,
+                  allowFlight: true,
+                  bannedItems: ["minecraft:tnt", "minecraft:end_crystal"],
+                  motd: "Welcome back"
+                }
+                """);
+        manager.reloadConfig(file, server);
+
+        check(wire.size() == 1, "reload broadcasts one delta, got " + wire.size());
+        byte[] deltaMessage = wire.poll();
+        ConfigSyncCodec.Message delta = decode(deltaMessage);
+        check(delta.kind() == ConfigSyncCodec.Kind.DELTA, "reload message is a delta");
+        check(present(delta) == 2, "delta carries only the two changed entries, got " + present(delta));
+        check(clientSync.receive(deltaMessage), "client applies the delta");
+        check(client.get().equals(server.get()), "client matches server after delta: " + client.get());
+        System.out.println("delta: " + deltaMessage.length + " bytes");
+
+        // A reload without changes sends nothing.
+        manager.reloadConfig(file, server);
+        check(wire.isEmpty(), "unchanged reload sends nothing");
+
+        // Messages of configurations that the client does not know are ignored.
+        ConfigSync emptySync = new ConfigSync(new ConfigListeners(Runnable::run));
+        check(!emptySync.receive(deltaMessage), "unknown configuration is ignored");
+        check(!clientSync.receive(new byte[]{(byte) 99}), "malformed message is discarded");
+
+        // A local reload during the session does not override the values of the server.
+        Files.writeString(clientFile.toPath(), clientContent(CLIENT_EDITED));
+        clientManager.reloadConfig(clientFile, client);
+        check(client.get().equals(server.get()), "client keeps server values after a local reload: " + client.get());
+
+        // Leaving the server restores the local values, including the local reload.
+        clientSync.restoreLocalValues();
+        check(client.get().equals(CLIENT_EDITED), "client restores local values: " + client.get());
+
+        if (failures > 0) {
+            System.err.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+
+        System.out.println("All sync loopback checks passed");
+    }
+
+    private static String clientContent(SyncedSettings settings) {
+        return "{\n  maxClaims: " + settings.maxClaims() + ",\n  pvpDamageMultiplier: " + settings.pvpDamageMultiplier()
+                + ",\n  allowFlight: " + settings.allowFlight() + ",\n  bannedItems: [],\n  motd: \"" + settings.motd()
+                + "\"\n}\n";
+    }
+
+    private static ConfigSyncCodec.Message decode(byte[] message) throws Exception {
+        ConfigSchema schema = ConfigSchema.of(SyncedSettings.class);
+        return new ConfigSyncCodec().decode(message, fingerprint -> schema);
+    }
+
+    private static int present(ConfigSyncCodec.Message message) {
+        int count = 0;
+
+        for (int i = 0; i < message.schema().getEntries().size(); i++) {
+            if (message.values().isPresent(i)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            failures++;
+            System.err.println("FAILED: " + description);
+        }
+    }
+}
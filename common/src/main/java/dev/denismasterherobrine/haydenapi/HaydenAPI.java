@@ -1,10 +1,12 @@
 package dev.denismasterherobrine.haydenapi;
 
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+
 public final class HaydenAPI {
     public static final String MOD_ID = "haydenapi";
 
     public static void init() {
-        // Write common init code here.
-
+        // Load the configurations other mods registered ahead of time in one parallel batch.
+        ConfigurationAPI.loadRegisteredConfigs();
     }
 }
@@ -1,61 +1,483 @@
 package dev.denismasterherobrine.haydenapi.configuration;
 
 import dev.denismasterherobrine.haydenapi.configuration.annotation.Config;
-import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
-import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+import dev.denismasterherobrine.haydenapi.configuration.cache.SnapshotCache;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.ConfigDistribution;
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationBatchException;
 import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
 import dev.denismasterherobrine.haydenapi.configuration.format.FormatHandler;
-import dev.denismasterherobrine.haydenapi.configuration.format.Json5ConfigurationHandler;
-import dev.denismasterherobrine.haydenapi.configuration.format.TomlConfigurationHandler;
-import dev.denismasterherobrine.haydenapi.configuration.format.YamlConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.FormatRegistry;
+import dev.denismasterherobrine.haydenapi.configuration.group.ConfigGroup;
+import dev.denismasterherobrine.haydenapi.configuration.layer.LayeredConfig;
+import dev.denismasterherobrine.haydenapi.configuration.lazy.LazyConfig;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChange;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.listener.MainThreadExecutor;
+import dev.denismasterherobrine.haydenapi.configuration.metrics.ConfigMetrics;
+import dev.denismasterherobrine.haydenapi.configuration.metrics.ConfigTrace;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.section.ConfigSection;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync;
+import dev.denismasterherobrine.haydenapi.configuration.watch.ConfigWatcher;
+import dev.denismasterherobrine.haydenapi.configuration.watch.FileFingerprint;
 
 import java.io.File;
-import java.lang.reflect.Field;
-import java.nio.file.*;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class ConfigurationManager {
-    private final Map<String, FormatHandler> formatHandlerMap = new HashMap<>();
+    private static final Logger LOGGER = Logger.getLogger(ConfigurationManager.class.getName());
 
-    public ConfigurationManager() {
-        formatHandlerMap.put("json5", new Json5ConfigurationHandler());
-        formatHandlerMap.put("toml", new TomlConfigurationHandler());
-        formatHandlerMap.put("yaml", new YamlConfigurationHandler());
-    }
+    private final FormatRegistry formats = new FormatRegistry();
+    private final Map<Path, FileFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Map<Path, ConfigWatcher.Registration> watchRegistrations = new ConcurrentHashMap<>();
+    private final Map<Path, ReentrantLock> reloadLocks = new ConcurrentHashMap<>();
+    private final Queue<LazyConfig<?>> lazyConfigs = new ConcurrentLinkedQueue<>();
+    private final Set<ConfigGroup> pendingGroupReloads = ConcurrentHashMap.newKeySet();
+    private final ConfigMetrics metrics = new ConfigMetrics();
+    private final ConfigListeners listeners = new ConfigListeners(MainThreadExecutor.getInstance());
+    private final ConfigSync sync = new ConfigSync(listeners);
+    private volatile WriteBehindQueue writeBehindQueue;
+    private volatile ForkJoinPool loadPool;
+    private volatile ConfigDistribution distribution;
+    private volatile SnapshotCache snapshotCache = Boolean.getBoolean("haydenapi.config.snapshotCache")
+            ? new SnapshotCache() : null;
+    private volatile IncrementalSaver incrementalSaver = Boolean.getBoolean("haydenapi.config.incrementalSave")
+            ? new IncrementalSaver() : null;
 
     private String getFormatFromFile(File file) {
-        String name = file.getName();
-        int dotIndex = name.lastIndexOf('.');
+        return FormatRegistry.getExtension(file);
+    }
+
+    public <T> T initializeConfig(String filename, Class<T> configClass) throws ConfigurationException {
+        if (!configClass.isAnnotationPresent(Config.class)) {
+            throw new ConfigurationException("Class " + configClass.getName() + " was not annotated with @Config!");
+        }
+
+        File file = new File(filename);
+        T config = loadOrCreateConfig(file, configClass);
+        ConfigSchema schema = ConfigSchema.of(configClass);
 
-        if (dotIndex == -1) {
-            return "json5";
+        // Records are immutable, they can only be hot-reloaded through initializeSnapshotConfig.
+        if (!schema.isRecord() && schema.hasReloadableEntries()) {
+            startFileWatcher(file, () -> reloadConfig(file, config, configClass));
         }
 
-        return name.substring(dotIndex + 1).toLowerCase();
+        bindSections(file, schema);
+        return config;
     }
 
-    public <T> T initializeConfig(String filename, Class<T> configClass) throws ConfigurationException {
+    /**
+     * Initializes a record configuration in snapshot mode. Every load and hot reload builds a new immutable record
+     * that is published to the returned handle with one atomic swap, so readers never see a partially applied
+     * configuration.
+     *
+     * @param filename    the configuration file path
+     * @param configClass the configuration record, annotated with {@code @Config} and with a public no-argument
+     *                    constructor that supplies the default values
+     * @return the handle of the current configuration
+     * @throws ConfigurationException if the configuration cannot be created or loaded
+     */
+    public <T extends Record> SnapshotConfig<T> initializeSnapshotConfig(String filename, Class<T> configClass)
+            throws ConfigurationException {
         if (!configClass.isAnnotationPresent(Config.class)) {
             throw new ConfigurationException("Class " + configClass.getName() + " was not annotated with @Config!");
         }
 
         File file = new File(filename);
-        T config;
+        SnapshotConfig<T> config = new SnapshotConfig<>(configClass, loadOrCreateConfig(file, configClass));
+        ConfigSchema schema = ConfigSchema.of(configClass);
 
-        if (!file.exists()) {
-            config = createNewConfig(configClass);
-            saveConfig(file, config);
+        if (schema.hasReloadableEntries()) {
+            startFileWatcher(file, () -> reloadConfig(file, config));
+        }
+
+        bindSections(file, schema);
+        return config;
+    }
+
+    /**
+     * Initializes a configuration resolved from several files on top of the built-in defaults. Later files take
+     * precedence over earlier ones and only need to contain the entries they override. The first file is created
+     * with the default values if it does not exist; missing files after it are empty layers until they are
+     * created. If the class has {@code @Reloadable} entries, every layer file is watched and hot-reloaded on its own;
+     * a hot reload only updates the reloadable entries of the layer.
+     *
+     * @param configClass the configuration class, with static entries or a record
+     * @param filenames   the layer files, from lowest to highest precedence, e.g. the global and the world file
+     * @return the layered configuration
+     * @throws ConfigurationException if the configuration cannot be created or a layer cannot be loaded
+     */
+    public <T> LayeredConfig<T> initializeLayeredConfig(Class<T> configClass, String... filenames)
+            throws ConfigurationException {
+        if (!configClass.isAnnotationPresent(Config.class)) {
+            throw new ConfigurationException("Class " + configClass.getName() + " was not annotated with @Config!");
+        }
+
+        T defaults = createNewConfig(configClass);
+        LayeredConfig<T> config = new LayeredConfig<>(configClass, defaults, sync::overlayServerValues);
+
+        if (filenames.length > 0 && !new File(filenames[0]).exists()) {
+            saveConfig(new File(filenames[0]), defaults);
+        }
+
+        for (String filename : filenames) {
+            addLayer(config, filename);
+        }
+        return config;
+    }
+
+    /**
+     * Adds a file on top of the layers of a configuration, e.g. the file of a world when it is loaded.
+     * A file that does not exist yet is an empty layer until it is created.
+     *
+     * @param config   the layered configuration
+     * @param filename the layer file
+     * @throws ConfigurationException if the file cannot be loaded
+     */
+    public <T> void addLayer(LayeredConfig<T> config, String filename) throws ConfigurationException {
+        File file = new File(filename);
+        Path path = file.toPath().toAbsolutePath().normalize();
+        ConfigSchema schema = ConfigSchema.of(config.getConfigClass());
+        ConfigValues values = file.exists() ? load(file, schema, Function.identity()) : new ConfigValues(schema);
+
+        listeners.publish(config.getConfigClass(), config.putLayer(path, values));
+
+        if (schema.hasReloadableEntries()) {
+            startFileWatcher(file, () -> reloadLayer(file, config));
         } else {
-            config = loadConfig(file, configClass);
+            recordFingerprint(file);
+        }
+    }
+
+    /**
+     * Removes a layer from a configuration and stops watching its file. Entries the layer overrode fall back
+     * to the layers below.
+     *
+     * @param config   the layered configuration
+     * @param filename the layer file
+     */
+    public <T> void removeLayer(LayeredConfig<T> config, String filename) {
+        Path path = new File(filename).toPath().toAbsolutePath().normalize();
+        ConfigWatcher.Registration registration = watchRegistrations.remove(path);
+
+        if (registration != null) {
+            registration.cancel();
+        }
+
+        fingerprints.remove(path);
+        listeners.publish(config.getConfigClass(), config.removeLayer(path));
+    }
+
+    /**
+     * Hot-reloads one layer of a configuration the way the file watcher does. Only the {@code @Reloadable} entries
+     * of the layer are updated, and only the entries the layer contained before or after the change are resolved
+     * again; the reloadable entries of a deleted file are removed from the layer.
+     *
+     * @param file   the layer file
+     * @param config the layered configuration
+     * @return {@code true} if the file changed and was reloaded, {@code false} if it was unchanged
+     * @throws ConfigurationException if the file cannot be read or parsed; the configuration is left unchanged
+     */
+    public <T> boolean reloadLayer(File file, LayeredConfig<T> config) throws ConfigurationException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Class<T> configClass = config.getConfigClass();
+        ConfigSchema schema = ConfigSchema.of(configClass);
+
+        if (!file.exists()) {
+            fingerprints.remove(path);
+            listeners.publish(configClass, config.reloadLayer(path, new ConfigValues(schema)));
+            return true;
+        }
+
+        return reload(file, schema, values -> listeners.publish(configClass, config.reloadLayer(path, values)));
+    }
+
+    private void bindSections(File file, ConfigSchema schema) {
+        if (schema.getSections().isEmpty()) {
+            return;
+        }
+
+        // config/examplemod.json5 keeps its sections in config/examplemod/<section>.json5
+        String name = file.getName();
+        int dotIndex = name.lastIndexOf('.');
+        File directory = new File(file.getAbsoluteFile().getParentFile(), name.substring(0, dotIndex));
+        String extension = name.substring(dotIndex);
+
+        for (Map.Entry<String, ConfigSection<?>> section : schema.getSections().entrySet()) {
+            bindSection(section.getValue(), new File(directory, section.getKey() + extension));
+        }
+    }
+
+    private <T> void bindSection(ConfigSection<T> section, File file) {
+        section.bind(file, () -> loadSection(file, section.getConfigClass()));
+    }
+
+    private <T> Supplier<T> loadSection(File file, Class<T> sectionClass) throws ConfigurationException {
+        try {
+            Files.createDirectories(file.toPath().getParent());
+        } catch (IOException e) {
+            throw new ConfigurationException("Error creating the directory of configuration section: " + file, e);
+        }
+
+        if (sectionClass.isRecord()) {
+            SnapshotConfig<?> config = initializeSnapshotConfig(file.getPath(), sectionClass.asSubclass(Record.class));
+            return () -> sectionClass.cast(config.get());
+        }
+
+        T config = initializeConfig(file.getPath(), sectionClass);
+        return () -> config;
+    }
+
+    /**
+     * Registers a configuration without loading it. The file is parsed on the first {@link LazyConfig#get()},
+     * or by {@link #loadLazyConfigsAsync()}, whichever comes first.
+     *
+     * @param filename    the configuration file path
+     * @param configClass the configuration class, with static entries or a record
+     * @return the handle of the configuration
+     * @throws ConfigurationException if the class is not annotated with {@code @Config}
+     */
+    public <T> LazyConfig<T> initializeLazyConfig(String filename, Class<T> configClass) throws ConfigurationException {
+        if (!configClass.isAnnotationPresent(Config.class)) {
+            throw new ConfigurationException("Class " + configClass.getName() + " was not annotated with @Config!");
+        }
+
+        LazyConfig<T> config = new LazyConfig<>(configClass, new File(filename), () -> {
+            if (configClass.isRecord()) {
+                SnapshotConfig<?> snapshot = initializeSnapshotConfig(filename, configClass.asSubclass(Record.class));
+                return () -> configClass.cast(snapshot.get());
+            }
+
+            T instance = initializeConfig(filename, configClass);
+            return () -> instance;
+        });
+
+        lazyConfigs.add(config);
+        return config;
+    }
+
+    /**
+     * Loads every lazy configuration that has not been accessed yet on the background load pool.
+     * Failures are logged; the first access of a failed configuration tries again and reports the error.
+     *
+     * @return a future completed once all pending lazy configurations were loaded or failed
+     */
+    public CompletableFuture<Void> loadLazyConfigsAsync() {
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        LazyConfig<?> config;
+
+        while ((config = lazyConfigs.poll()) != null) {
+            LazyConfig<?> pending = config;
+
+            if (pending.isLoaded()) {
+                continue;
+            }
+
+            loads.add(CompletableFuture.runAsync(() -> {
+                try {
+                    pending.load();
+                } catch (ConfigurationException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error preloading configuration " + pending.getFile() + ": "
+                            + e.getMessage(), e);
+                }
+            }, getLoadPool()));
+        }
+
+        return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Initializes configurations stored in separate files that are reloaded together. Changes to any of the files
+     * are gathered for the debounce window, then every changed file is parsed off the game thread, and the new
+     * configurations are applied in one step only if all of them parsed. Members without {@code @Reloadable}
+     * entries are loaded at startup only and take no part in group reloads.
+     *
+     * @param name    the name of the group, used in log messages
+     * @param configs the configuration classes keyed by file path, each class must appear only once
+     * @return the configuration group
+     * @throws ConfigurationException if a class is not annotated with {@code @Config} or appears twice,
+     *                                or a configuration cannot be created or loaded
+     */
+    public ConfigGroup initializeConfigGroup(String name, Map<String, Class<?>> configs) throws ConfigurationException {
+        Map<Class<?>, File> files = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Class<?>> config : configs.entrySet()) {
+            Class<?> configClass = config.getValue();
+
+            if (!configClass.isAnnotationPresent(Config.class)) {
+                throw new ConfigurationException("Class " + configClass.getName() + " was not annotated with @Config!");
+            }
+
+            if (files.putIfAbsent(configClass, new File(config.getKey())) != null) {
+                throw new ConfigurationException("Class " + configClass.getName()
+                        + " appears more than once in configuration group " + name);
+            }
+        }
+
+        Map<Class<?>, Object> instances = new LinkedHashMap<>();
+
+        for (Map.Entry<Class<?>, File> member : files.entrySet()) {
+            instances.put(member.getKey(), loadOrCreateConfig(member.getValue(), member.getKey()));
+            bindSections(member.getValue(), ConfigSchema.of(member.getKey()));
+        }
+
+        ConfigGroup group = new ConfigGroup(name, files, instances);
+
+        for (Map.Entry<Class<?>, File> member : files.entrySet()) {
+            if (ConfigSchema.of(member.getKey()).hasReloadableEntries()) {
+                startFileWatcher(member.getValue(), () -> scheduleGroupReload(group));
+            } else {
+                recordFingerprint(member.getValue());
+            }
+        }
+
+        return group;
+    }
+
+    private void scheduleGroupReload(ConfigGroup group) {
+        // A deploy that rewrites several files of the group produces one watcher event per file, each debounced on
+        // its own. The first event schedules a reload after another window, the following ones join it.
+        if (!pendingGroupReloads.add(group)) {
+            return;
+        }
+
+        long window = ConfigWatcher.getInstance().getDebounce().toMillis();
+
+        CompletableFuture.runAsync(() -> {
+            // Changes arriving while the group is parsed schedule another reload.
+            pendingGroupReloads.remove(group);
+
+            try {
+                reloadConfigGroup(group);
+            } catch (ConfigurationException e) {
+                // The fingerprints are kept, so the next change of any file of the group retries the reload.
+                LOGGER.log(Level.WARNING, "Error reloading configuration group " + group.getName() + ": "
+                        + e.getMessage(), e);
+            }
+        }, CompletableFuture.delayedExecutor(window, TimeUnit.MILLISECONDS, getLoadPool()));
+    }
+
+    private <T> T loadOrCreateConfig(File file, Class<T> configClass) throws ConfigurationException {
+        if (file.exists()) {
+            return loadConfig(file, configClass);
         }
 
-        if (hasReloadableFields(configClass)) {
-            startFileWatcher(file, config, configClass);
+        T config = createNewConfig(configClass);
+
+        try {
+            ConfigSchema.of(configClass).computeDerivedValues();
+        } catch (RuntimeException e) {
+            throw new ConfigurationException("Error computing derived values of " + configClass.getName(), e);
         }
+
+        saveConfig(file, config);
         return config;
     }
 
+    /**
+     * Initializes many configurations in parallel on a bounded pool
+     * ({@code haydenapi.config.loadParallelism}, at most 4 threads by default).
+     * Every configuration is attempted; the returned future fails with a {@link ConfigurationBatchException}
+     * listing all failures if any of them could not be initialized.
+     *
+     * @param configs the configuration classes keyed by file path, each class must appear only once
+     * @return a future of the configuration instances keyed by file path, in the order of the given map
+     */
+    public CompletableFuture<Map<String, Object>> initializeConfigsAsync(Map<String, Class<?>> configs) {
+        ForkJoinPool pool = getLoadPool();
+        Map<String, CompletableFuture<Object>> tasks = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Class<?>> config : configs.entrySet()) {
+            tasks.put(config.getKey(), CompletableFuture.supplyAsync(() -> {
+                try {
+                    return initializeConfig(config.getKey(), config.getValue());
+                } catch (ConfigurationException e) {
+                    throw new CompletionException(e);
+                }
+            }, pool));
+        }
+
+        return CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).handle((ignored, error) -> {
+            Map<String, Object> loaded = new LinkedHashMap<>();
+            Map<String, ConfigurationException> failures = new LinkedHashMap<>();
+
+            tasks.forEach((path, task) -> {
+                try {
+                    loaded.put(path, task.join());
+                } catch (CompletionException e) {
+                    failures.put(path, e.getCause() instanceof ConfigurationException configurationException
+                            ? configurationException
+                            : new ConfigurationException("Error initializing configuration: " + path, e.getCause()));
+                }
+            });
+
+            if (!failures.isEmpty()) {
+                throw new CompletionException(new ConfigurationBatchException(failures, loaded));
+            }
+
+            return loaded;
+        });
+    }
+
+    /**
+     * Initializes many configurations in parallel and waits for all of them.
+     *
+     * @param configs the configuration classes keyed by file path, each class must appear only once
+     * @return the configuration instances keyed by file path
+     * @throws ConfigurationBatchException if any configuration could not be initialized
+     * @see #initializeConfigsAsync(Map)
+     */
+    public Map<String, Object> initializeConfigs(Map<String, Class<?>> configs) throws ConfigurationBatchException {
+        try {
+            return initializeConfigsAsync(configs).join();
+        } catch (CompletionException e) {
+            throw (ConfigurationBatchException) e.getCause();
+        }
+    }
+
+    private ForkJoinPool getLoadPool() {
+        ForkJoinPool pool = loadPool;
+
+        if (pool == null) {
+            synchronized (this) {
+                pool = loadPool;
+
+                if (pool == null) {
+                    int parallelism = Integer.getInteger("haydenapi.config.loadParallelism",
+                            Math.min(4, Runtime.getRuntime().availableProcessors()));
+                    pool = new ForkJoinPool(Math.max(1, parallelism));
+                    loadPool = pool;
+                }
+            }
+        }
+
+        return pool;
+    }
+
     public <T> T createNewConfig(Class<T> configClass) throws ConfigurationException {
         try {
             return configClass.getDeclaredConstructor().newInstance();
@@ -65,85 +487,593 @@ public class ConfigurationManager {
         }
     }
 
+    /**
+     * Loads a configuration file. Static entries are assigned and a new instance of the class is returned;
+     * for a record configuration a new record is returned, with entries missing from the file
+     * taken from its no-argument constructor.
+     *
+     * @param file        the configuration file
+     * @param configClass the configuration class
+     * @return the configuration instance
+     * @throws ConfigurationException if the file cannot be read or parsed
+     */
     public <T> T loadConfig(File file, Class<T> configClass) throws ConfigurationException {
+        ConfigSchema schema = ConfigSchema.of(configClass);
+
+        if (schema.isRecord()) {
+            T defaults = createNewConfig(configClass);
+            return load(file, schema, values -> configClass.cast(values.toRecord(defaults)));
+        }
+
+        load(file, schema, values -> {
+            ConfigValues before = listeners.hasSubscribers(configClass) ? ConfigValues.capture(schema) : null;
+            values.apply();
+
+            if (before != null) {
+                listeners.publish(before);
+            }
+            return null;
+        });
+
+        return createNewConfig(configClass);
+    }
+
+    private <R> R load(File file, ConfigSchema schema, Function<ConfigValues, R> binder)
+            throws ConfigurationException {
+        FormatHandler handler = getHandler(file);
+        Path path = file.toPath().toAbsolutePath().normalize();
         String format = getFormatFromFile(file);
-        FormatHandler handler = formatHandlerMap.get(format);
 
-        if (handler == null) {
-            throw new ConfigurationException("Unsupported file format: " + format);
+        try {
+            Decoded decoded = decode(path, format, handler, schema);
+
+            ConfigTrace bind = ConfigTrace.begin(ConfigTrace.Phase.BIND);
+            R result = binder.apply(decoded.values());
+            long bindNanos = bind.end(path.toString(), format, decoded.bytes());
+
+            metrics.recordLoad(path, decoded.readNanos(), decoded.parseNanos(), bindNanos, decoded.bytes(),
+                    decoded.cached());
+            return result;
+        } catch (IOException | RuntimeException e) {
+            throw new ConfigurationException("Error loading configuration file: " + file.getName(), e);
         }
+    }
 
-        return handler.load(file, configClass);
+    /**
+     * Enables or disables the binary snapshot cache. While enabled, configuration files that did not change
+     * since they were last parsed are loaded from a pre-decoded binary snapshot instead of being parsed again.
+     *
+     * @param enabled whether the snapshot cache is used
+     */
+    public void setSnapshotCacheEnabled(boolean enabled) {
+        snapshotCache = enabled ? new SnapshotCache() : null;
     }
 
-    public <T> void saveConfig(File file, T config) throws ConfigurationException {
+    /**
+     * Enables or disables incremental saves. While enabled, saving a configuration only replaces the values of
+     * the entries that changed and keeps the rest of the file, including comments and user edits, byte for byte.
+     * Saves that change nothing leave the file untouched.
+     *
+     * @param enabled whether saves patch existing files
+     */
+    public void setIncrementalSaveEnabled(boolean enabled) {
+        incrementalSaver = enabled ? new IncrementalSaver() : null;
+    }
+
+    /**
+     * @return the subscriptions to changes of configuration entries, notified on every load and reload
+     */
+    public ConfigListeners getListeners() {
+        return listeners;
+    }
+
+    /**
+     * @return the server-to-client synchronization of the configurations handled by this manager
+     */
+    public ConfigSync getSync() {
+        return sync;
+    }
+
+    /**
+     * @return the distribution of configurations across a server network, created on first use
+     */
+    public ConfigDistribution getDistribution() {
+        ConfigDistribution result = distribution;
+
+        if (result == null) {
+            synchronized (this) {
+                result = distribution;
+
+                if (result == null) {
+                    result = new ConfigDistribution(listeners, MainThreadExecutor.getInstance(),
+                            this::saveConfigAsync);
+                    distribution = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the load, save and reload statistics of all configuration files handled by this manager
+     */
+    public ConfigMetrics getMetrics() {
+        return metrics;
+    }
+
+    private Decoded decode(Path path, String format, FormatHandler handler, ConfigSchema schema) throws IOException {
+        SnapshotCache cache = snapshotCache;
+        ConfigTrace read = ConfigTrace.begin(ConfigTrace.Phase.READ);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        if (cache != null) {
+            ConfigValues cached = cache.get(path, attributes, schema);
+
+            if (cached != null) {
+                long readNanos = read.end(path.toString(), format, attributes.size());
+                return new Decoded(cached, attributes.size(), readNanos, 0, true);
+            }
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        long readNanos = read.end(path.toString(), format, bytes.length);
+
+        ConfigTrace parse = ConfigTrace.begin(ConfigTrace.Phase.PARSE);
+        ConfigValues values = handler.read(bytes, schema);
+        long parseNanos = parse.end(path.toString(), format, bytes.length);
+
+        if (cache != null) {
+            cache.put(path, attributes, schema, values);
+        }
+
+        IncrementalSaver saver = incrementalSaver;
+
+        if (saver != null) {
+            saver.remember(path, handler, schema, attributes, bytes, values);
+        }
+
+        return new Decoded(values, bytes.length, readNanos, parseNanos, false);
+    }
+
+    private record Decoded(ConfigValues values, long bytes, long readNanos, long parseNanos, boolean cached) {
+    }
+
+    private FormatHandler getHandler(File file) throws ConfigurationException {
         String format = getFormatFromFile(file);
-        FormatHandler handler = formatHandlerMap.get(format);
+
+        if (format == null) {
+            throw new ConfigurationException("Configuration file " + file.getName()
+                    + " has no extension, supported formats are: " + formats.getExtensions());
+        }
+
+        FormatHandler handler = formats.get(format);
 
         if (handler == null) {
-            throw new ConfigurationException("Unsupported file format: " + format);
+            throw new ConfigurationException("Unsupported file format: " + format
+                    + ", supported formats are: " + formats.getExtensions());
         }
 
-        handler.save(file, config);
+        return handler;
     }
 
-    private <T> boolean hasReloadableFields(Class<T> configClass) {
-        for (Field field : configClass.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Entry.class) && field.isAnnotationPresent(Reloadable.class)) {
-                return true;
+    /**
+     * @return the registry of the format handlers, used to add handlers for further file extensions
+     */
+    public FormatRegistry getFormats() {
+        return formats;
+    }
+
+    public <T> void saveConfig(File file, T config) throws ConfigurationException {
+        FormatHandler handler = getHandler(file);
+        Path path = file.toPath().toAbsolutePath().normalize();
+
+        ConfigTrace save = ConfigTrace.begin(ConfigTrace.Phase.SAVE);
+        IncrementalSaver saver = incrementalSaver;
+
+        if (saver == null || !saveIncrementally(saver, path, handler, config)) {
+            handler.save(file, config);
+        }
+
+        long bytes = file.length();
+        metrics.recordSave(path, save.end(path.toString(), getFormatFromFile(file), bytes), bytes);
+
+        if (fingerprints.containsKey(path)) {
+            // Remember our own write so the watcher does not reload it.
+            try {
+                fingerprints.put(path, FileFingerprint.of(path));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error fingerprinting configuration file " + file + ": " + e.getMessage());
             }
         }
+    }
+
+    private boolean saveIncrementally(IncrementalSaver saver, Path path, FormatHandler handler, Object config)
+            throws ConfigurationException {
+        try {
+            ConfigSchema schema = ConfigSchema.of(config.getClass());
+            return saver.save(path, handler, schema, ConfigValues.capture(schema, config));
+        } catch (IOException | RuntimeException e) {
+            throw new ConfigurationException("Error saving configuration file: " + path.getFileName(), e);
+        }
+    }
 
-        return false;
+    /**
+     * Queues a save on the background writer. Saves of the same file within the coalescing window are merged
+     * into a single write of the latest configuration.
+     *
+     * @param file   the file to write
+     * @param config the configuration instance to save
+     * @return a future completed once the file has been written
+     */
+    public <T> CompletableFuture<Void> saveConfigAsync(File file, T config) {
+        return getWriteBehindQueue().submit(file, config);
     }
 
-    private <T> void startFileWatcher(File file, T config, Class<T> configClass) {
-        Path dir = file.toPath().getParent();
+    /**
+     * Writes all saves queued through {@link #saveConfigAsync(File, Object)} and waits for them to finish.
+     */
+    public void flushPendingSaves() {
+        WriteBehindQueue queue = writeBehindQueue;
 
-        if (dir == null) {
-            return;
+        if (queue != null) {
+            queue.flush();
         }
+    }
 
-        Thread watcherThread = new Thread(() -> {
-            try {
-                WatchService watchService = FileSystems.getDefault().newWatchService();
-                dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY);
-                while (true) {
-                    WatchKey key = watchService.take();
-                    for (WatchEvent<?> event : key.pollEvents()) {
-                        if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
-                            Path changed = (Path) event.context();
-                            if (changed.toString().equals(file.getName())) {
-                                T newConfig = loadConfig(file, configClass);
-                                updateReloadableFields(config, newConfig, configClass);
-                            }
-                        }
-                    }
-                    key.reset();
+    private WriteBehindQueue getWriteBehindQueue() {
+        WriteBehindQueue queue = writeBehindQueue;
+
+        if (queue == null) {
+            synchronized (this) {
+                queue = writeBehindQueue;
+
+                if (queue == null) {
+                    queue = new WriteBehindQueue(this);
+                    writeBehindQueue = queue;
                 }
-            } catch (Exception e) {
-                System.err.println("Error watching configuration file: " + e.getMessage());
+            }
+        }
+
+        return queue;
+    }
+
+    private void startFileWatcher(File file, Reload reload) {
+        Path path = recordFingerprint(file);
+        ConfigWatcher.Registration registration = ConfigWatcher.getInstance().watch(path, () -> {
+            try {
+                reload.run();
+            } catch (ConfigurationException e) {
+                // The fingerprint is kept, so the next change of the file retries the reload.
+                LOGGER.log(Level.WARNING, "Error reloading configuration file " + file + ": " + e.getMessage(), e);
             }
         });
 
-        watcherThread.setDaemon(true);
-        watcherThread.start();
+        // Initializing the same file again replaces its watcher instead of stacking another one.
+        ConfigWatcher.Registration previous = watchRegistrations.put(path, registration);
+
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
-    private <T> void updateReloadableFields(T original, T updated, Class<T> configClass) {
-        Field[] fields = configClass.getDeclaredFields();
+    private Path recordFingerprint(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
 
-        for (Field field : fields) {
-            if (field.isAnnotationPresent(Entry.class) && field.isAnnotationPresent(Reloadable.class)) {
-                try {
-                    field.setAccessible(true);
-                    Object newValue = field.get(updated);
-                    field.set(original, newValue);
-                    System.out.println("Field " + field.getName() + " updated to value: " + newValue);
-                } catch (IllegalAccessException e) {
-                    System.err.println("Error updating field " + field.getName() + ": " + e.getMessage());
+        try {
+            // Layer files may not exist yet, they are loaded once they are created.
+            if (Files.exists(path)) {
+                fingerprints.put(path, FileFingerprint.of(path));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error fingerprinting configuration file " + file + ": " + e.getMessage());
+        }
+
+        return path;
+    }
+
+    /**
+     * Hot-reloads a configuration file the way the file watcher does: the file is only parsed if its content
+     * changed since it was last loaded, and only the {@code @Reloadable} entries of the configuration are updated;
+     * the other entries keep their values until the next start. Listeners subscribed to the changed entries are
+     * notified on the game thread.
+     *
+     * @param file        the configuration file
+     * @param config      the configuration instance to update
+     * @param configClass the configuration class
+     * @return {@code true} if the file changed and was reloaded, {@code false} if it was unchanged or deleted
+     * @throws ConfigurationException if the file cannot be read or parsed; the configuration is left unchanged
+     */
+    public <T> boolean reloadConfig(File file, T config, Class<T> configClass) throws ConfigurationException {
+        ConfigSchema schema = ConfigSchema.of(configClass);
+
+        return reload(file, schema, values -> {
+            ConfigValues before = ConfigValues.capture(schema);
+            sync.overlayServerValues(values.reloadableOnly()).apply();
+            return listeners.publish(before);
+        });
+    }
+
+    /**
+     * Hot-reloads a record configuration the way the file watcher does. If the file changed, a new record is built
+     * from it and published to the handle in one atomic swap; entries missing from the file and entries without
+     * {@code @Reloadable} keep their current values. Listeners subscribed to the changed entries are notified on the
+     * game thread.
+     *
+     * @param file   the configuration file
+     * @param config the handle of the configuration
+     * @return {@code true} if the file changed and was reloaded, {@code false} if it was unchanged or deleted
+     * @throws ConfigurationException if the file cannot be read or parsed; the current snapshot is kept
+     */
+    public <T extends Record> boolean reloadConfig(File file, SnapshotConfig<T> config) throws ConfigurationException {
+        Class<T> configClass = config.getConfigClass();
+        ConfigSchema schema = ConfigSchema.of(configClass);
+
+        return reload(file, schema, values -> {
+            T previous = config.get();
+            T updated = configClass.cast(sync.overlayServerValues(values.reloadableOnly()).toRecord(previous));
+            config.publish(updated);
+            return listeners.publish(ConfigValues.capture(schema, previous), ConfigValues.capture(schema, updated));
+        });
+    }
+
+    /**
+     * Hot-reloads a configuration group the way the file watcher does. Every file of a member with
+     * {@code @Reloadable} entries that changed since it was last loaded is parsed before anything is applied. If all
+     * of them parsed, their {@code @Reloadable} static entries are assigned back to back and the record
+     * configurations are published as one snapshot of the group. Listeners subscribed to the changed entries are
+     * notified on the game thread. Members without reloadable entries are left alone.
+     *
+     * @param group the configuration group
+     * @return {@code true} if any file changed and the group was reloaded, {@code false} if all files were unchanged
+     *         or deleted
+     * @throws ConfigurationException if a file cannot be read or parsed; every configuration of the group is left
+     *                                unchanged
+     */
+    public boolean reloadConfigGroup(ConfigGroup group) throws ConfigurationException {
+        Map<Class<?>, File> members = new LinkedHashMap<>();
+
+        for (Map.Entry<Class<?>, File> member : group.getFiles().entrySet()) {
+            // Like a configuration of its own, a member without reloadable entries is only loaded at startup.
+            if (ConfigSchema.of(member.getKey()).hasReloadableEntries()) {
+                members.put(member.getKey(), member.getValue());
+            }
+        }
+
+        // The locks of the member files order the group reload with explicit reloads of the same files. They are
+        // taken in a fixed order, so that groups sharing a file cannot deadlock.
+        List<ReentrantLock> locks = members.values().stream()
+                .map(file -> file.toPath().toAbsolutePath().normalize())
+                .distinct()
+                .sorted(Comparator.naturalOrder())
+                .map(this::getReloadLock)
+                .toList();
+
+        synchronized (group) {
+            locks.forEach(ReentrantLock::lock);
+
+            try {
+                return reloadConfigGroup(group, members);
+            } finally {
+                locks.forEach(ReentrantLock::unlock);
+            }
+        }
+    }
+
+    private boolean reloadConfigGroup(ConfigGroup group, Map<Class<?>, File> members) throws ConfigurationException {
+        List<GroupReload> reloads = new ArrayList<>();
+
+        for (Map.Entry<Class<?>, File> member : members.entrySet()) {
+            GroupReload reload = readGroupMember(member.getValue(), member.getKey());
+
+            if (reload != null) {
+                reloads.add(reload);
+            }
+        }
+
+        if (reloads.isEmpty()) {
+            return false;
+        }
+
+        // Everything that can fail happens before the first configuration of the group is touched.
+        ConfigGroup.Snapshot previous = group.getSnapshot();
+        Map<Class<?>, Object> records = new LinkedHashMap<>();
+        List<Runnable> assignments = new ArrayList<>();
+        Map<Class<?>, ConfigValues> before = new LinkedHashMap<>();
+
+        for (GroupReload reload : reloads) {
+            Class<?> configClass = reload.configClass();
+
+            try {
+                ConfigValues values = sync.overlayServerValues(reload.values().reloadableOnly());
+
+                if (reload.schema().isRecord()) {
+                    records.put(configClass, values.toRecord(previous.get(configClass)));
+                } else {
+                    assignments.add(values.prepareApply());
+                    before.put(configClass, ConfigValues.capture(reload.schema()));
                 }
+            } catch (RuntimeException e) {
+                reloads.forEach(failed -> metrics.recordFailedReload(failed.path()));
+                throw new ConfigurationException("Error reloading configuration group " + group.getName()
+                        + ": " + reload.file().getName(), e);
+            }
+        }
+
+        assignments.forEach(Runnable::run);
+        ConfigGroup.Snapshot published = group.publish(records);
+
+        for (GroupReload reload : reloads) {
+            Class<?> configClass = reload.configClass();
+            fingerprints.put(reload.path(), reload.fingerprint());
+
+            Map<String, ConfigChange> changes = reload.schema().isRecord()
+                    ? listeners.publish(ConfigValues.capture(reload.schema(), previous.get(configClass)),
+                            ConfigValues.capture(reload.schema(), published.get(configClass)))
+                    : listeners.publish(before.get(configClass));
+
+            for (ConfigChange change : changes.values()) {
+                LOGGER.log(Level.FINE, "Configuration entry " + change.key() + " of " + reload.file().getName()
+                        + " changed to: " + change.newValue());
+            }
+
+            metrics.recordReload(reload.path(), reload.nanos(), reload.bytes());
+        }
+
+        return true;
+    }
+
+    private GroupReload readGroupMember(File file, Class<?> configClass) throws ConfigurationException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        ConfigSchema schema = ConfigSchema.of(configClass);
+        ChangedFile changed = readIfChanged(file, path, schema);
+
+        if (changed == null) {
+            return null;
+        }
+
+        try {
+            // The cached values and source map describe the file, they stay valid if the group fails to apply.
+            remember(path, changed);
+        } catch (IOException e) {
+            throw failed(file, path, changed, e);
+        }
+
+        long nanos = changed.trace().endReload(path.toString(), changed.format(), changed.bytes().length, true, true);
+        return new GroupReload(file, path, configClass, schema, changed.values(), changed.fingerprint(),
+                changed.bytes().length, nanos);
+    }
+
+    private record GroupReload(File file, Path path, Class<?> configClass, ConfigSchema schema, ConfigValues values,
+                               FileFingerprint fingerprint, long bytes, long nanos) {
+    }
+
+    private boolean reload(File file, ConfigSchema schema, Function<ConfigValues, Map<String, ConfigChange>> binder)
+            throws ConfigurationException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        ReentrantLock lock = getReloadLock(path);
+
+        // The watcher and explicit reloads can race. Without ordering, a reload that read an older version of the
+        // file could be applied after a newer one, and its fingerprint would then suppress the reload of the newer.
+        lock.lock();
+
+        try {
+            return reload(file, path, schema, binder);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock getReloadLock(Path path) {
+        return reloadLocks.computeIfAbsent(path, key -> new ReentrantLock());
+    }
+
+    private boolean reload(File file, Path path, ConfigSchema schema,
+                           Function<ConfigValues, Map<String, ConfigChange>> binder) throws ConfigurationException {
+        ChangedFile changed = readIfChanged(file, path, schema);
+
+        if (changed == null) {
+            return false;
+        }
+
+        try {
+            Map<String, ConfigChange> changes = binder.apply(changed.values());
+            fingerprints.put(path, changed.fingerprint());
+            remember(path, changed);
+
+            for (ConfigChange change : changes.values()) {
+                LOGGER.log(Level.FINE, "Configuration entry " + change.key() + " of " + file.getName()
+                        + " changed to: " + change.newValue());
             }
+        } catch (IOException | RuntimeException e) {
+            throw failed(file, path, changed, e);
         }
+
+        long bytes = changed.bytes().length;
+        metrics.recordReload(path, changed.trace().endReload(path.toString(), changed.format(), bytes, true, true),
+                bytes);
+        return true;
+    }
+
+    /**
+     * Reads and parses a file if it changed since it was last loaded. The trace of the reload is left open for the
+     * caller to end once the values are applied.
+     *
+     * @return the parsed file, or {@code null} if it is unchanged or was deleted
+     * @throws ConfigurationException if the file cannot be read or parsed, the failure is already recorded
+     */
+    private ChangedFile readIfChanged(File file, Path path, ConfigSchema schema) throws ConfigurationException {
+        String format = getFormatFromFile(file);
+        ConfigTrace reload = ConfigTrace.begin(ConfigTrace.Phase.RELOAD);
+        long bytesRead = 0;
+
+        try {
+            FileFingerprint previous = fingerprints.get(path);
+
+            if (previous != null && previous.matchesStamp(path)) {
+                metrics.recordSkippedReload(path);
+                return null;
+            }
+
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            byte[] bytes = Files.readAllBytes(path);
+            bytesRead = bytes.length;
+            FileFingerprint current = FileFingerprint.of(attributes, bytes);
+
+            if (previous != null && previous.matchesContent(current)) {
+                fingerprints.put(path, current);
+                reload.endReload(path.toString(), format, bytesRead, false, true);
+                metrics.recordSkippedReload(path);
+                return null;
+            }
+
+            FormatHandler handler = getHandler(file);
+            ConfigValues values = handler.read(bytes, schema);
+            return new ChangedFile(format, reload, handler, attributes, bytes, values, current);
+        } catch (NoSuchFileException e) {
+            // A deleted file keeps the values it had, it is loaded again once it is written.
+            LOGGER.log(Level.FINE, "Configuration file " + file.getName() + " was deleted, keeping its values");
+            reload.endReload(path.toString(), format, bytesRead, false, true);
+            metrics.recordSkippedReload(path);
+            return null;
+        } catch (ConfigurationException e) {
+            reload.endReload(path.toString(), format, bytesRead, true, false);
+            metrics.recordFailedReload(path);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            reload.endReload(path.toString(), format, bytesRead, true, false);
+            metrics.recordFailedReload(path);
+            throw new ConfigurationException("Error reloading configuration file: " + file.getName(), e);
+        }
+    }
+
+    private ConfigurationException failed(File file, Path path, ChangedFile changed, Exception e) {
+        changed.trace().endReload(path.toString(), changed.format(), changed.bytes().length, true, false);
+        metrics.recordFailedReload(path);
+        return new ConfigurationException("Error reloading configuration file: " + file.getName(), e);
+    }
+
+    private record ChangedFile(String format, ConfigTrace trace, FormatHandler handler, BasicFileAttributes attributes,
+                               byte[] bytes, ConfigValues values, FileFingerprint fingerprint) {
+    }
+
+    private void remember(Path path, ChangedFile changed) throws IOException {
+        ConfigSchema schema = changed.values().getSchema();
+        SnapshotCache cache = snapshotCache;
+
+        if (cache != null) {
+            cache.put(path, changed.attributes(), schema, changed.values());
+        }
+
+        IncrementalSaver saver = incrementalSaver;
+
+        if (saver != null) {
+            saver.remember(path, changed.handler(), schema, changed.attributes(), changed.bytes(), changed.values());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Reload {
+        void run() throws ConfigurationException;
     }
 }
@@ -0,0 +1,159 @@
+package dev.denismasterherobrine.haydenapi.configuration;
+
+import dev.denismasterherobrine.haydenapi.configuration.format.FormatHandler;
+import dev.denismasterherobrine.haydenapi.configuration.format.SourceSpans;
+import dev.denismasterherobrine.haydenapi.configuration.io.AtomicFileWriter;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.watch.FileFingerprint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves configurations by patching only the values that changed, keeping comments, ordering, formatting and
+ * user edits in the rest of the file byte for byte.
+ *
+ * <p>For every loaded file a source map is kept: the fingerprint of the content, the decoded values and the
+ * byte spans of the entry values. On save, the current values are compared with the values in the file and only
+ * the spans of changed entries are replaced. A save that changes nothing does not touch the file at all.
+ * If the file was edited since it was mapped, it is mapped again first.</p>
+ *
+ * <p>A save falls back to rewriting the file if a changed entry is missing from the file, spans several lines,
+ * or cannot be encoded inline, or if the patched content does not read back to the saved values.</p>
+ */
+final class IncrementalSaver {
+    private final Map<Path, SourceMap> sourceMaps = new ConcurrentHashMap<>();
+
+    /**
+     * Remembers the layout of a file that was just read.
+     */
+    void remember(Path path, FormatHandler handler, ConfigSchema schema, BasicFileAttributes attributes, byte[] bytes,
+                  ConfigValues values) throws IOException {
+        SourceSpans spans = handler.locate(bytes, schema);
+
+        if (spans != null) {
+            sourceMaps.put(path, new SourceMap(schema, FileFingerprint.of(attributes, bytes), values, spans));
+        }
+    }
+
+    /**
+     * Saves values by patching the existing file.
+     *
+     * @return {@code true} if the file is up to date, {@code false} if it has to be rewritten
+     */
+    synchronized boolean save(Path path, FormatHandler handler, ConfigSchema schema, ConfigValues values)
+            throws IOException {
+        BasicFileAttributes attributes;
+        byte[] bytes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        SourceMap map = sourceMaps.get(path);
+        FileFingerprint fingerprint = FileFingerprint.of(attributes, bytes);
+
+        if (map == null || map.schema() != schema || !map.fingerprint().matchesContent(fingerprint)) {
+            SourceSpans spans = handler.locate(bytes, schema);
+
+            if (spans == null) {
+                return false;
+            }
+
+            map = new SourceMap(schema, fingerprint, handler.read(bytes, schema), spans);
+        }
+
+        byte[][] replacements = new byte[schema.getEntries().size()][];
+        boolean changed = false;
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+
+            if (!values.isPresent(index)) {
+                continue;
+            }
+
+            if (map.values().isPresent(index) && Objects.deepEquals(map.values().get(index), values.get(index))) {
+                continue;
+            }
+
+            if (!map.spans().has(index)) {
+                return false;
+            }
+
+            replacements[index] = handler.encodeInline(entry, values.get(index));
+
+            if (replacements[index] == null) {
+                return false;
+            }
+
+            changed = true;
+        }
+
+        if (!changed) {
+            sourceMaps.put(path, map);
+            return true;
+        }
+
+        byte[] patched = patch(bytes, map.spans(), replacements);
+        ConfigValues written = handler.read(patched, schema);
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+
+            if (values.isPresent(index) && !Objects.deepEquals(written.get(index), values.get(index))) {
+                return false;
+            }
+        }
+
+        AtomicFileWriter.write(path, patched);
+
+        SourceSpans spans = handler.locate(patched, schema);
+        BasicFileAttributes newAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+        sourceMaps.put(path, new SourceMap(schema, FileFingerprint.of(newAttributes, patched), written, spans));
+        return true;
+    }
+
+    private static byte[] patch(byte[] source, SourceSpans spans, byte[][] replacements) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length + 64);
+        int position = 0;
+
+        // Spans are disjoint, but entries may appear in the file in any order.
+        while (true) {
+            int next = -1;
+
+            for (int i = 0; i < replacements.length; i++) {
+                if (replacements[i] != null && spans.getStart(i) >= position
+                        && (next < 0 || spans.getStart(i) < spans.getStart(next))) {
+                    next = i;
+                }
+            }
+
+            if (next < 0) {
+                break;
+            }
+
+            out.write(source, position, spans.getStart(next) - position);
+            out.writeBytes(replacements[next]);
+            position = spans.getEnd(next);
+        }
+
+        out.write(source, position, source.length - position);
+        return out.toByteArray();
+    }
+
+    private record SourceMap(ConfigSchema schema, FileFingerprint fingerprint, ConfigValues values, SourceSpans spans) {
+    }
+}
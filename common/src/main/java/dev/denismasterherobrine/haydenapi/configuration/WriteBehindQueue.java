@@ -0,0 +1,121 @@
+package dev.denismasterherobrine.haydenapi.configuration;
+
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background writer for {@link ConfigurationManager#saveConfigAsync(File, Object)}.
+ *
+ * <p>A save is held back for the coalescing window ({@code haydenapi.config.writeBehindMs}, 500 ms by default);
+ * further saves of the same file within the window replace it, so a burst of saves results in a single write
+ * of the latest state. Pending saves are flushed when the JVM shuts down.</p>
+ */
+final class WriteBehindQueue {
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindQueue.class.getName());
+    private static final long WINDOW_MS = Long.getLong("haydenapi.config.writeBehindMs", 500);
+
+    private final ConfigurationManager manager;
+    private final Map<Path, PendingSave> pending = new HashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HaydenAPI Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    WriteBehindQueue(ConfigurationManager manager) {
+        this.manager = manager;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "HaydenAPI Config Flush"));
+    }
+
+    synchronized CompletableFuture<Void> submit(File file, Object config) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        PendingSave save = pending.get(path);
+
+        if (save != null) {
+            save.config = config;
+            return save.future;
+        }
+
+        PendingSave newSave = new PendingSave(file, config);
+        pending.put(path, newSave);
+        newSave.task = executor.schedule(() -> {
+            if (take(path, newSave)) {
+                newSave.write(manager);
+            }
+        }, WINDOW_MS, TimeUnit.MILLISECONDS);
+
+        return newSave.future;
+    }
+
+    /**
+     * Writes all pending saves and waits for them and for writes already in progress.
+     *
+     * <p>The pending saves are written by the writer thread, after any save it already took, so that an older save
+     * of a file can never replace a newer one.</p>
+     */
+    void flush() {
+        List<PendingSave> saves;
+
+        synchronized (this) {
+            saves = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        for (PendingSave save : saves) {
+            save.task.cancel(false);
+        }
+
+        try {
+            executor.submit(() -> {
+                for (PendingSave save : saves) {
+                    save.write(manager);
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Error waiting for configuration writes: " + e.getMessage(), e);
+        }
+    }
+
+    private synchronized boolean take(Path path, PendingSave save) {
+        return pending.remove(path, save);
+    }
+
+    private static final class PendingSave {
+        private final File file;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private Object config;
+        private ScheduledFuture<?> task;
+
+        private PendingSave(File file, Object config) {
+            this.file = file;
+            this.config = config;
+        }
+
+        private void write(ConfigurationManager manager) {
+            // The save has left the pending map under the queue lock, so the config can no longer change.
+            try {
+                manager.saveConfig(file, config);
+                future.complete(null);
+            } catch (ConfigurationException | RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error saving configuration " + file + ": " + e.getMessage(), e);
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
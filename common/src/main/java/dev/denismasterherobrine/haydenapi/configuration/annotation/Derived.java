@@ -0,0 +1,37 @@
+package dev.denismasterherobrine.haydenapi.configuration.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a static field that holds a value computed from entries, such as a compiled pattern or a parsed duration.
+ *
+ * <p>The value is computed by a static method with the same name as the field, which takes the values of the
+ * source entries as parameters, in the order they are listed. It is recomputed when a load or reload changes one
+ * of the source entries, before any entry is assigned; if the method throws, the load fails and the configuration
+ * is left unchanged. The field itself is not written to the file.</p>
+ *
+ * <p>Example:
+ * <pre>
+ *   &#64;Entry
+ *   public static String blockedNames = "^spam.*";
+ *
+ *   &#64;Derived("blockedNames")
+ *   public static Pattern blockedPattern;
+ *
+ *   private static Pattern blockedPattern(String blockedNames) {
+ *       return Pattern.compile(blockedNames);
+ *   }
+ * </pre>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Derived {
+    /**
+     * @return the names of the source entries
+     */
+    String[] value();
+}
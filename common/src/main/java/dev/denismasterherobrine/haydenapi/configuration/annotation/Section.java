@@ -0,0 +1,16 @@
+package dev.denismasterherobrine.haydenapi.configuration.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the file of a {@link dev.denismasterherobrine.haydenapi.configuration.section.ConfigSection} field.
+ * Without it, the section file is named after the field.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Section {
+    String value();
+}
@@ -0,0 +1,25 @@
+package dev.denismasterherobrine.haydenapi.configuration.api;
+
+/**
+ * Lets a mod register its configurations before HaydenAPI initializes, so that they are loaded together with
+ * the configurations of all other mods in one parallel batch.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader}: list the implementing class in
+ * {@code META-INF/services/dev.denismasterherobrine.haydenapi.configuration.api.ConfigRegistrar} and call
+ * {@link ConfigurationAPI#registerConfig(String, Class)} from {@link #registerConfigs()}. Only configurations with
+ * static entries can be registered this way.</p>
+ *
+ * <p>Example:
+ * <pre>
+ *   public final class ExampleModConfigs implements ConfigRegistrar {
+ *       public void registerConfigs() {
+ *           ConfigurationAPI.registerConfig("config/examplemod.json5", ExampleConfig.class);
+ *       }
+ *   }
+ * </pre>
+ * </p>
+ */
+@FunctionalInterface
+public interface ConfigRegistrar {
+    void registerConfigs();
+}
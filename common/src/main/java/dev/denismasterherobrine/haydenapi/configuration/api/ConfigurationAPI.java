@@ -1,9 +1,31 @@
 package dev.denismasterherobrine.haydenapi.configuration.api;
 
 import dev.denismasterherobrine.haydenapi.configuration.ConfigurationManager;
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationBatchException;
 import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.ConfigDistribution;
+import dev.denismasterherobrine.haydenapi.configuration.distribution.DistributionTransport;
+import dev.denismasterherobrine.haydenapi.configuration.format.FormatHandler;
+import dev.denismasterherobrine.haydenapi.configuration.group.ConfigGroup;
+import dev.denismasterherobrine.haydenapi.configuration.layer.LayeredConfig;
+import dev.denismasterherobrine.haydenapi.configuration.lazy.LazyConfig;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChangeListener;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.metrics.ConfigStats;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync;
+import dev.denismasterherobrine.haydenapi.configuration.watch.ConfigWatcher;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,6 +47,8 @@ public final class ConfigurationAPI {
 
     private static final Logger LOGGER = Logger.getLogger(ConfigurationAPI.class.getName());
     private static final ConfigurationManager manager = new ConfigurationManager();
+    private static final Map<String, Class<?>> pendingConfigs = new LinkedHashMap<>();
+    private static boolean registeredConfigsLoaded;
 
     private ConfigurationAPI() {}
 
@@ -48,6 +72,183 @@ public final class ConfigurationAPI {
         }
     }
 
+    /**
+     * Initializes a record configuration in snapshot mode. Instead of static fields, the configuration is an
+     * immutable record; every load and hot reload publishes a new record with one atomic swap, so readers on
+     * any thread always see a complete, consistent configuration without locking.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   &#64;Config
+     *   public record ExampleConfig(@Reloadable int maxMobs, @Comment("Enabled biomes") List&lt;String&gt; biomes) {
+     *       public ExampleConfig() {
+     *           this(40, List.of("plains"));
+     *       }
+     *   }
+     *
+     *   SnapshotConfig&lt;ExampleConfig&gt; config = ConfigurationAPI.createSnapshotConfig("modname.json5", ExampleConfig.class);
+     *   int maxMobs = config.get().maxMobs();
+     * </pre>
+     * </p>
+     *
+     * @param path        the configuration file name or path
+     * @param configClass the configuration record annotated with {@code @Config}, with a public no-argument
+     *                    constructor that supplies the default values
+     * @param <T>         the configuration type
+     * @return the handle of the current configuration
+     * @throws ConfigurationException if an initialization error occurs
+     */
+    public static <T extends Record> SnapshotConfig<T> createSnapshotConfig(String path, Class<T> configClass)
+            throws ConfigurationException {
+        try {
+            return manager.initializeSnapshotConfig(path, configClass);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error initializing configuration: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Initializes many configurations at once. Files are parsed and bound in parallel on a bounded pool,
+     * which shortens startup when a mod or modpack has many configuration files.
+     * Every configuration is attempted even if some of them fail.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   Map&lt;String, Class&lt;?&gt;&gt; configs = new LinkedHashMap&lt;&gt;();
+     *   configs.put("config/modname/general.json5", GeneralConfig.class);
+     *   configs.put("config/modname/worldgen.toml", WorldgenConfig.class);
+     *   ConfigurationAPI.createConfigs(configs);
+     * </pre>
+     * </p>
+     *
+     * @param configs the configuration classes annotated with {@code @Config}, keyed by file path;
+     *                each class must appear only once
+     * @return the configuration instances keyed by file path
+     * @throws ConfigurationBatchException if any configuration could not be initialized; it reports every failure
+     *                                     and carries the configurations that were loaded
+     */
+    public static Map<String, Object> createConfigs(Map<String, Class<?>> configs) throws ConfigurationBatchException {
+        try {
+            return manager.initializeConfigs(configs);
+        } catch (ConfigurationBatchException e) {
+            LOGGER.log(Level.SEVERE, "Error initializing configurations: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a configuration and returns immediately, without reading the file. The file is parsed on the first
+     * {@link LazyConfig#get()}, or in the background once the game has finished starting, whichever comes first.
+     * Use this for configurations that are read late, or not at all in some environments, such as client-only
+     * settings on a dedicated server.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   LazyConfig&lt;ClientConfig&gt; config = ConfigurationAPI.createLazyConfig("config/examplemod-client.json5",
+     *           ClientConfig.class);
+     *   // Later, e.g. when rendering:
+     *   config.get();
+     * </pre>
+     * </p>
+     *
+     * @param path        the configuration file name or path
+     * @param configClass the configuration class annotated with {@code @Config}
+     * @return the handle of the configuration
+     * @throws ConfigurationException if the class is not annotated with {@code @Config}
+     */
+    public static <T> LazyConfig<T> createLazyConfig(String path, Class<T> configClass) throws ConfigurationException {
+        try {
+            return manager.initializeLazyConfig(path, configClass);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error initializing configuration: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads every lazy configuration that has not been accessed yet on a background thread.
+     * Called by HaydenAPI once the game has finished starting.
+     *
+     * @return a future completed once all pending lazy configurations were loaded or failed
+     */
+    public static CompletableFuture<Void> loadLazyConfigsAsync() {
+        return manager.loadLazyConfigsAsync();
+    }
+
+    /**
+     * Initializes many configurations in parallel without blocking the caller.
+     *
+     * @param configs the configuration classes annotated with {@code @Config}, keyed by file path;
+     *                each class must appear only once
+     * @return a future of the configuration instances keyed by file path, completed exceptionally with a
+     *         {@link ConfigurationBatchException} if any configuration could not be initialized
+     * @see #createConfigs(Map)
+     */
+    public static CompletableFuture<Map<String, Object>> createConfigsAsync(Map<String, Class<?>> configs) {
+        return manager.initializeConfigsAsync(configs);
+    }
+
+    /**
+     * Registers a configuration to be loaded in the startup batch. Registrations made before HaydenAPI initializes,
+     * typically from a {@link ConfigRegistrar}, are loaded together in parallel during initialization.
+     * Configurations registered after that are initialized immediately.
+     *
+     * <p>Only configurations with static entries can be registered: their values are read from the class, so no
+     * instance needs to be kept. A record configuration would be loaded and then unreachable; it is rejected with
+     * an error in the log, create it with {@link #createSnapshotConfig(String, Class)} instead.</p>
+     *
+     * @param path        the configuration file name or path
+     * @param configClass the configuration class annotated with {@code @Config}, with static entries
+     */
+    public static void registerConfig(String path, Class<?> configClass) {
+        if (configClass.isRecord()) {
+            LOGGER.log(Level.SEVERE, "Cannot register record configuration " + configClass.getName() + " for "
+                    + path + ", create it with createSnapshotConfig to keep its handle");
+            return;
+        }
+
+        synchronized (pendingConfigs) {
+            if (!registeredConfigsLoaded) {
+                pendingConfigs.put(path, configClass);
+                return;
+            }
+        }
+
+        try {
+            createConfig(path, configClass);
+        } catch (ConfigurationException ignored) {
+            // Already logged by createConfig.
+        }
+    }
+
+    /**
+     * Loads all configurations registered through {@link #registerConfig(String, Class)} or discovered
+     * {@link ConfigRegistrar}s in one parallel batch. Called by HaydenAPI during initialization;
+     * failures are logged and do not prevent the other configurations from loading.
+     */
+    public static void loadRegisteredConfigs() {
+        for (ConfigRegistrar registrar : ServiceLoader.load(ConfigRegistrar.class, ConfigRegistrar.class.getClassLoader())) {
+            registrar.registerConfigs();
+        }
+
+        Map<String, Class<?>> configs;
+
+        synchronized (pendingConfigs) {
+            configs = new LinkedHashMap<>(pendingConfigs);
+            pendingConfigs.clear();
+            registeredConfigsLoaded = true;
+        }
+
+        if (!configs.isEmpty()) {
+            try {
+                createConfigs(configs);
+            } catch (ConfigurationBatchException ignored) {
+                // Already logged by createConfigs.
+            }
+        }
+    }
+
     /**
      * Saves the configuration to the specified file.
      *
@@ -66,6 +267,30 @@ public final class ConfigurationAPI {
         }
     }
 
+    /**
+     * Saves the configuration to the specified file in the background.
+     * Saves of the same file shortly after each other are merged into a single write of the latest values,
+     * which makes this method suitable for frequent saves, e.g. from a settings screen.
+     * Pending saves are written on JVM shutdown or by {@link #flushPendingSaves()}.
+     *
+     * @param filename the configuration file name
+     * @param config   the configuration instance to be saved
+     * @param <T>      the configuration type
+     * @return a future completed once the file has been written, or completed exceptionally
+     *         with a {@link ConfigurationException} if saving failed
+     */
+    public static <T> CompletableFuture<Void> saveConfigAsync(String filename, T config) {
+        return manager.saveConfigAsync(new File(filename), config);
+    }
+
+    /**
+     * Writes all saves queued by {@link #saveConfigAsync(String, Object)} and blocks until they are on disk.
+     * Call this when shutting down a server or world to make sure no change is lost.
+     */
+    public static void flushPendingSaves() {
+        manager.flushPendingSaves();
+    }
+
     /**
      * Reloads the configuration from the specified file.
      * This method updates the configuration instance with the latest data from the file.
@@ -86,4 +311,300 @@ public final class ConfigurationAPI {
             throw e;
         }
     }
+
+    /**
+     * Subscribes to changes of entries of a configuration. Whenever the configuration is loaded or its file is
+     * hot-reloaded, the new values are compared with the previous ones, and the listener receives the old and new
+     * values of the subscribed entries that changed. The listener runs on the server thread, or on the client
+     * thread if no server is running, so it can safely update game state derived from the configuration.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   ConfigurationAPI.subscribe(ExampleConfig.class, event -&gt; rebuildSpawnTable(), "spawnWeights", "biomes");
+     * </pre>
+     * </p>
+     *
+     * @param configClass the configuration class annotated with {@code @Config}
+     * @param listener    the listener to notify
+     * @param keys        the names of the entries to subscribe to, none to subscribe to all entries
+     * @return the subscription, which stops notifications when unsubscribed
+     * @throws IllegalArgumentException if a key is not an entry of the configuration class
+     */
+    public static ConfigListeners.Subscription subscribe(Class<?> configClass, ConfigChangeListener listener,
+                                                         String... keys) {
+        return manager.getListeners().subscribe(configClass, Arrays.asList(keys), listener);
+    }
+
+    /**
+     * Creates a configuration resolved from several files on top of its built-in defaults, e.g. a global file
+     * overridden by a per-world file. Each later file only needs the entries it overrides. The merged values are
+     * resolved once per change, so reads stay plain field accesses (or {@code get()} for records).
+     *
+     * <p>Example usage:
+     * <pre>
+     *   LayeredConfig&lt;ExampleConfig&gt; config = ConfigurationAPI.createLayeredConfig(ExampleConfig.class,
+     *           "config/examplemod.json5");
+     *   // When a world is loaded:
+     *   ConfigurationAPI.addLayer(config, worldDirectory + "/serverconfig/examplemod.json5");
+     * </pre>
+     * </p>
+     *
+     * @param configClass the configuration class annotated with {@code @Config}
+     * @param paths       the layer files, from lowest to highest precedence
+     * @return the layered configuration
+     * @throws ConfigurationException if the configuration cannot be created or a layer cannot be loaded
+     */
+    public static <T> LayeredConfig<T> createLayeredConfig(Class<T> configClass, String... paths)
+            throws ConfigurationException {
+        try {
+            return manager.initializeLayeredConfig(configClass, paths);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error initializing layered configuration: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Creates configurations stored in separate files that are reloaded together, for settings that only make sense
+     * in combination. When a deploy rewrites several of the files, they cause a single reload; every changed file is
+     * parsed before anything is applied, and if one of them fails, the whole group keeps its current values.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   ConfigGroup economy = ConfigurationAPI.createConfigGroup("economy", Map.of(
+     *           "config/examplemod/prices.json5", PriceConfig.class,
+     *           "config/examplemod/shops.json5", ShopConfig.class));
+     * </pre>
+     * </p>
+     *
+     * @param name    the name of the group, used in log messages
+     * @param configs the configuration classes annotated with {@code @Config}, keyed by file path;
+     *                each class must appear only once
+     * @return the configuration group
+     * @throws ConfigurationException if a configuration cannot be created or loaded
+     */
+    public static ConfigGroup createConfigGroup(String name, Map<String, Class<?>> configs)
+            throws ConfigurationException {
+        try {
+            return manager.initializeConfigGroup(name, configs);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error initializing configuration group: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reloads every changed file of a configuration group now, instead of waiting for the file watcher.
+     *
+     * @param group the configuration group
+     * @return {@code true} if any file changed and the group was reloaded
+     * @throws ConfigurationException if a file cannot be read or parsed; the whole group keeps its current values
+     */
+    public static boolean reloadConfigGroup(ConfigGroup group) throws ConfigurationException {
+        try {
+            return manager.reloadConfigGroup(group);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error reloading configuration group: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a file on top of the layers of a configuration. A file that does not exist yet is an empty layer
+     * until it is created.
+     *
+     * @param config the layered configuration
+     * @param path   the layer file
+     * @throws ConfigurationException if the file cannot be loaded
+     */
+    public static void addLayer(LayeredConfig<?> config, String path) throws ConfigurationException {
+        try {
+            manager.addLayer(config, path);
+        } catch (ConfigurationException e) {
+            LOGGER.log(Level.SEVERE, "Error adding configuration layer: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes a layer, e.g. the file of a world when it is unloaded.
+     *
+     * @param config the layered configuration
+     * @param path   the layer file
+     */
+    public static void removeLayer(LayeredConfig<?> config, String path) {
+        manager.removeLayer(config, path);
+    }
+
+    /**
+     * Makes a configuration server-authoritative: players joining a server receive the server's values, and changes
+     * on the server are sent to them as deltas of the changed entries. The client restores its own values when it
+     * leaves. Call this on both sides, e.g. right after creating the configuration.
+     *
+     * @param configClass the configuration class annotated with {@code @Config}
+     */
+    public static void syncConfig(Class<?> configClass) {
+        manager.getSync().register(configClass);
+    }
+
+    /**
+     * Makes a record configuration in snapshot mode server-authoritative.
+     * Received values are published to the handle as new snapshots.
+     *
+     * @param config the handle returned by {@link #createSnapshotConfig(String, Class)}
+     * @see #syncConfig(Class)
+     */
+    public static void syncConfig(SnapshotConfig<?> config) {
+        manager.getSync().register(config);
+    }
+
+    /**
+     * @return the synchronization of configurations, used by the platform networking code
+     */
+    public static ConfigSync getConfigSync() {
+        return manager.getSync();
+    }
+
+    /**
+     * Distributes a configuration with static entries across a server network. Every node registers the same
+     * configurations; the publishing node sends the changed entries of each reload, and the other nodes apply them
+     * and save them to their own files.
+     *
+     * <p>Example usage:
+     * <pre>
+     *   ConfigurationAPI.createConfig("config/examplemod.json5", ExampleConfig.class);
+     *   ConfigurationAPI.distributeConfig("config/examplemod.json5", ExampleConfig.class);
+     *   // On the node that owns the configuration files:
+     *   ConfigurationAPI.startConfigPublisher(new SocketDistributionTransport(new InetSocketAddress(25600)));
+     *   // On every other node:
+     *   ConfigurationAPI.startConfigSubscriber(new SocketDistributionTransport(
+     *           new InetSocketAddress("config-node", 25600)));
+     * </pre>
+     * </p>
+     *
+     * @param path        the file of the configuration
+     * @param configClass the configuration class annotated with {@code @Config}
+     * @throws ConfigurationException if the configuration class cannot be instantiated
+     */
+    public static void distributeConfig(String path, Class<?> configClass) throws ConfigurationException {
+        manager.getDistribution().register(new File(path), manager.createNewConfig(configClass));
+    }
+
+    /**
+     * Distributes a record configuration in snapshot mode across a server network.
+     * Received values are published to the handle as new snapshots.
+     *
+     * @param path   the file of the configuration
+     * @param config the handle returned by {@link #createSnapshotConfig(String, Class)}
+     * @see #distributeConfig(String, Class)
+     */
+    public static void distributeConfig(String path, SnapshotConfig<?> config) {
+        manager.getDistribution().register(new File(path), config);
+    }
+
+    /**
+     * Makes this node the source of the distributed configurations.
+     *
+     * @param transport how bundles reach the other nodes, e.g. a
+     *                  {@link dev.denismasterherobrine.haydenapi.configuration.distribution.FileDistributionTransport}
+     * @throws ConfigurationException if the transport cannot be started
+     */
+    public static void startConfigPublisher(DistributionTransport transport) throws ConfigurationException {
+        try {
+            manager.getDistribution().startPublisher(transport);
+        } catch (IOException e) {
+            throw new ConfigurationException("Error starting configuration distribution: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Makes this node receive the distributed configurations from the publishing node.
+     *
+     * @param transport how bundles are received, the counterpart of the transport of the publisher
+     * @throws ConfigurationException if the transport cannot be started
+     */
+    public static void startConfigSubscriber(DistributionTransport transport) throws ConfigurationException {
+        try {
+            manager.getDistribution().startSubscriber(transport);
+        } catch (IOException e) {
+            throw new ConfigurationException("Error starting configuration distribution: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the distribution of configurations across a server network
+     */
+    public static ConfigDistribution getConfigDistribution() {
+        return manager.getDistribution();
+    }
+
+    /**
+     * Registers the format handler of a file extension, in addition to the built-in {@code json5}, {@code toml},
+     * {@code yaml}/{@code yml} and binary {@code smile} formats. The handler is created when the first file with
+     * the extension is loaded or saved. Handlers can also be contributed through
+     * {@link dev.denismasterherobrine.haydenapi.configuration.format.FormatHandlerProvider}.
+     *
+     * @param extension the file extension, without the leading dot
+     * @param factory   creates the handler
+     * @throws IllegalArgumentException if the extension is already registered
+     */
+    public static void registerFormat(String extension, Supplier<? extends FormatHandler> factory) {
+        manager.getFormats().register(extension, factory);
+    }
+
+    /**
+     * Sets how long a watched configuration file must stay unchanged before it is hot-reloaded.
+     * Editors and deployment tools often write a file in several steps; all changes within the window
+     * are collapsed into a single reload. Reloads are skipped entirely if the file content did not change.
+     *
+     * @param debounce the debounce window, {@link Duration#ZERO} to reload on every change event
+     */
+    public static void setReloadDebounce(Duration debounce) {
+        ConfigWatcher.getInstance().setDebounce(debounce);
+    }
+
+    /**
+     * Enables or disables the binary snapshot cache. While enabled, each configuration file is cached in decoded
+     * binary form in a {@code .haydenapi-cache} directory next to it, and later loads of an unchanged file skip
+     * text parsing. Snapshots are invalidated when the file or the configuration class changes.
+     * The cache can also be enabled at startup with {@code -Dhaydenapi.config.snapshotCache=true}.
+     *
+     * @param enabled whether the snapshot cache is used
+     */
+    public static void setSnapshotCacheEnabled(boolean enabled) {
+        manager.setSnapshotCacheEnabled(enabled);
+    }
+
+    /**
+     * Enables or disables incremental saves. While enabled, saving a configuration only rewrites the values of
+     * the entries that changed: comments, ordering, formatting and manual edits elsewhere in the file are kept
+     * byte for byte, and saves that change nothing do not touch the file at all. Changes that cannot be patched
+     * in place, such as entries missing from the file or values spanning several lines, fall back to rewriting
+     * the file. The mode can also be enabled at startup with {@code -Dhaydenapi.config.incrementalSave=true}.
+     *
+     * @param enabled whether saves patch existing files
+     */
+    public static void setIncrementalSaveEnabled(boolean enabled) {
+        manager.setIncrementalSaveEnabled(enabled);
+    }
+
+    /**
+     * Returns load, save and reload statistics of every configuration file, e.g. for a debug command.
+     * The same phases are also recorded as {@code haydenapi.Config*} JDK Flight Recorder events.
+     *
+     * @return the statistics keyed by absolute file path
+     */
+    public static Map<Path, ConfigStats> getMetrics() {
+        return manager.getMetrics().getAll();
+    }
+
+    /**
+     * Returns load, save and reload statistics of one configuration file.
+     *
+     * @param filename the configuration file name
+     * @return the statistics, or {@code null} if the file was never loaded, saved or reloaded
+     */
+    public static ConfigStats getMetrics(String filename) {
+        return manager.getMetrics().get(new File(filename).toPath().toAbsolutePath().normalize());
+    }
 }
\ No newline at end of file
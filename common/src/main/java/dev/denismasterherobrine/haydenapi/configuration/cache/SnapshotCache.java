@@ -0,0 +1,106 @@
+package dev.denismasterherobrine.haydenapi.configuration.cache;
+
+import dev.denismasterherobrine.haydenapi.configuration.format.SmileConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.io.AtomicFileWriter;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary cache of decoded configuration files, used to skip text parsing on warm starts.
+ *
+ * <p>Each configuration file gets a snapshot in the {@code .haydenapi-cache} directory next to it. A snapshot
+ * stores the decoded entries in Smile form behind a header with the file path, size, modification time and the
+ * {@linkplain ConfigSchema#getFingerprint() schema fingerprint} of the configuration class. A snapshot is only
+ * used while all of these still match, so edited files and changed classes are parsed again and re-cached.</p>
+ */
+public final class SnapshotCache {
+    public static final String DIRECTORY_NAME = ".haydenapi-cache";
+
+    private static final Logger LOGGER = Logger.getLogger(SnapshotCache.class.getName());
+    private static final int MAGIC = 0x48415043;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Looks up the snapshot of a file.
+     *
+     * @param file       the absolute path of the configuration file
+     * @param attributes the current attributes of the configuration file
+     * @param schema     the schema of the configuration class
+     * @return the cached values, or {@code null} if there is no valid snapshot
+     */
+    public ConfigValues get(Path file, BasicFileAttributes attributes, ConfigSchema schema) {
+        byte[] data;
+
+        try {
+            data = Files.readAllBytes(getSnapshotFile(file));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error reading configuration snapshot of " + file, e);
+            return null;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(file.toString())
+                    || in.readLong() != attributes.size()
+                    || in.readLong() != attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                    || in.readLong() != schema.getFingerprint()) {
+                return null;
+            }
+
+            int headerLength = data.length - in.available();
+            return SmileConfigurationHandler.getShared().read(data, headerLength, data.length - headerLength, schema);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Discarding unreadable configuration snapshot of " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the decoded values of a file. Failures are logged and otherwise ignored,
+     * the file will simply be parsed again next time.
+     *
+     * @param file       the absolute path of the configuration file
+     * @param attributes the attributes the file had when it was read
+     * @param schema     the schema of the configuration class
+     * @param values     the values decoded from the file
+     */
+    public void put(Path file, BasicFileAttributes attributes, ConfigSchema schema, ConfigValues values) {
+        Path snapshotFile = getSnapshotFile(file);
+
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            AtomicFileWriter.write(snapshotFile, out -> {
+                DataOutputStream header = new DataOutputStream(out);
+                header.writeInt(MAGIC);
+                header.writeInt(FORMAT_VERSION);
+                header.writeUTF(file.toString());
+                header.writeLong(attributes.size());
+                header.writeLong(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+                header.writeLong(schema.getFingerprint());
+                header.flush();
+                SmileConfigurationHandler.getShared().write(out, schema, values);
+            });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error writing configuration snapshot of " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Path getSnapshotFile(Path file) {
+        return file.resolveSibling(DIRECTORY_NAME).resolve(file.getFileName() + ".bin");
+    }
+}
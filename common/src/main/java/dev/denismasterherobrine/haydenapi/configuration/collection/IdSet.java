@@ -0,0 +1,167 @@
+package dev.denismasterherobrine.haydenapi.configuration.collection;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable hash set of interned strings, meant for large allow and deny lists of block, item or entity IDs
+ * that are checked on hot paths.
+ *
+ * <p>Elements are stored in a single open-addressing table, so a membership check is one hash and usually one
+ * reference comparison, with no boxing and no per-element nodes. The set is built directly from the parser
+ * when a configuration is loaded and never changes afterwards; a reload assigns a new set.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *   &#64;Entry
+ *   public static IdSet blockedBlocks = IdSet.of("minecraft:bedrock", "minecraft:barrier");
+ *
+ *   if (ExampleConfig.blockedBlocks.contains(blockId)) { ... }
+ * </pre>
+ * </p>
+ */
+@JsonDeserialize(using = IdSet.Deserializer.class)
+public final class IdSet extends AbstractSet<String> {
+    private static final IdSet EMPTY = new IdSet(new String[0]);
+
+    private final String[] table;
+    private final int mask;
+    private final int size;
+
+    private IdSet(String[] elements) {
+        int capacity = Integer.highestOneBit(Math.max(2, elements.length * 2 - 1)) << 1;
+        String[] table = new String[capacity];
+        int size = 0;
+
+        for (String element : elements) {
+            String id = element.intern();
+            int slot = mix(id.hashCode()) & (capacity - 1);
+
+            while (table[slot] != null && !table[slot].equals(id)) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            if (table[slot] == null) {
+                table[slot] = id;
+                size++;
+            }
+        }
+
+        this.table = table;
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    public static IdSet of(String... ids) {
+        return ids.length == 0 ? EMPTY : new IdSet(ids.clone());
+    }
+
+    public static IdSet copyOf(Collection<String> ids) {
+        return ids instanceof IdSet set ? set : ids.isEmpty() ? EMPTY : new IdSet(ids.toArray(new String[0]));
+    }
+
+    private static int mix(int hash) {
+        return (hash ^ hash >>> 16) * 0x9E3779B9;
+    }
+
+    /**
+     * @param id the ID to look up
+     * @return whether the set contains the ID
+     */
+    public boolean contains(String id) {
+        int slot = mix(id.hashCode()) & mask;
+        String element;
+
+        while ((element = table[slot]) != null) {
+            if (element == id || element.equals(id)) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String id && contains(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int index = advance(0);
+
+            private int advance(int from) {
+                while (from < table.length && table[from] == null) {
+                    from++;
+                }
+
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < table.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= table.length) {
+                    throw new NoSuchElementException();
+                }
+
+                String element = table[index];
+                index = advance(index + 1);
+                return element;
+            }
+        };
+    }
+
+    public static final class Deserializer extends StdDeserializer<IdSet> {
+        public Deserializer() {
+            super(IdSet.class);
+        }
+
+        @Override
+        public IdSet deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (IdSet) context.handleUnexpectedToken(IdSet.class, parser);
+            }
+
+            String[] ids = new String[16];
+            int count = 0;
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    return (IdSet) context.handleUnexpectedToken(String.class, parser);
+                }
+
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+
+                ids[count++] = parser.getText();
+            }
+
+            return count == 0 ? EMPTY : new IdSet(Arrays.copyOf(ids, count));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package dev.denismasterherobrine.haydenapi.configuration.collection;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of primitive {@code int} values in a single open-addressing table, without boxing.
+ * The set is built directly from the parser when a configuration is loaded and is written as an array.
+ *
+ * <p>Example usage:
+ * <pre>
+ *   &#64;Entry
+ *   public static IntSet blockedDimensions = IntSet.of(0, 7, 42);
+ * </pre>
+ * </p>
+ */
+@JsonDeserialize(using = IntSet.Deserializer.class)
+public final class IntSet {
+    private static final IntSet EMPTY = new IntSet(new int[0], 0);
+
+    // 0 marks a free slot, so whether the set contains 0 is tracked separately.
+    private final int[] table;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    private IntSet(int[] values, int length) {
+        int capacity = Integer.highestOneBit(Math.max(2, length * 2 - 1)) << 1;
+        int[] table = new int[capacity];
+        boolean containsZero = false;
+        int size = 0;
+
+        for (int i = 0; i < length; i++) {
+            int value = values[i];
+
+            if (value == 0) {
+                if (!containsZero) {
+                    containsZero = true;
+                    size++;
+                }
+                continue;
+            }
+
+            int slot = mix(value) & (capacity - 1);
+
+            while (table[slot] != 0 && table[slot] != value) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            if (table[slot] == 0) {
+                table[slot] = value;
+                size++;
+            }
+        }
+
+        this.table = table;
+        this.mask = capacity - 1;
+        this.containsZero = containsZero;
+        this.size = size;
+    }
+
+    public static IntSet of(int... values) {
+        return values.length == 0 ? EMPTY : new IntSet(values, values.length);
+    }
+
+    private static int mix(int value) {
+        int hash = value;
+        return (hash ^ hash >>> 16) * 0x9E3779B9;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return containsZero;
+        }
+
+        int slot = mix(value) & mask;
+        int element;
+
+        while ((element = table[slot]) != 0) {
+            if (element == value) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+
+        for (int element : table) {
+            if (element != 0) {
+                action.accept(element);
+            }
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    @JsonValue
+    public int[] toArray() {
+        int[] values = new int[size];
+        int index = 0;
+
+        if (containsZero) {
+            values[index++] = 0;
+        }
+
+        for (int element : table) {
+            if (element != 0) {
+                values[index++] = element;
+            }
+        }
+
+        Arrays.sort(values);
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IntSet other && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    public static final class Deserializer extends StdDeserializer<IntSet> {
+        public Deserializer() {
+            super(IntSet.class);
+        }
+
+        @Override
+        public IntSet deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (IntSet) context.handleUnexpectedToken(IntSet.class, parser);
+            }
+
+            int[] values = new int[16];
+            int count = 0;
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    return (IntSet) context.handleUnexpectedToken(int.class, parser);
+                }
+
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+
+                values[count++] = parser.getIntValue();
+            }
+
+            return count == 0 ? EMPTY : new IntSet(values, count);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package dev.denismasterherobrine.haydenapi.configuration.collection;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * An immutable set of primitive {@code long} values in a single open-addressing table, without boxing.
+ * The set is built directly from the parser when a configuration is loaded and is written as an array.
+ *
+ * <p>Example usage:
+ * <pre>
+ *   &#64;Entry
+ *   public static LongSet protectedSeeds = LongSet.of(-4611686018427387904L);
+ * </pre>
+ * </p>
+ */
+@JsonDeserialize(using = LongSet.Deserializer.class)
+public final class LongSet {
+    private static final LongSet EMPTY = new LongSet(new long[0], 0);
+
+    // 0 marks a free slot, so whether the set contains 0 is tracked separately.
+    private final long[] table;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    private LongSet(long[] values, int length) {
+        int capacity = Integer.highestOneBit(Math.max(2, length * 2 - 1)) << 1;
+        long[] table = new long[capacity];
+        boolean containsZero = false;
+        int size = 0;
+
+        for (int i = 0; i < length; i++) {
+            long value = values[i];
+
+            if (value == 0) {
+                if (!containsZero) {
+                    containsZero = true;
+                    size++;
+                }
+                continue;
+            }
+
+            int slot = mix(value) & (capacity - 1);
+
+            while (table[slot] != 0 && table[slot] != value) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            if (table[slot] == 0) {
+                table[slot] = value;
+                size++;
+            }
+        }
+
+        this.table = table;
+        this.mask = capacity - 1;
+        this.containsZero = containsZero;
+        this.size = size;
+    }
+
+    public static LongSet of(long... values) {
+        return values.length == 0 ? EMPTY : new LongSet(values, values.length);
+    }
+
+    private static int mix(long value) {
+        int hash = (int) (value ^ value >>> 32);
+        return (hash ^ hash >>> 16) * 0x9E3779B9;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+
+        int slot = mix(value) & mask;
+        long element;
+
+        while ((element = table[slot]) != 0) {
+            if (element == value) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+
+        for (long element : table) {
+            if (element != 0) {
+                action.accept(element);
+            }
+        }
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    @JsonValue
+    public long[] toArray() {
+        long[] values = new long[size];
+        int index = 0;
+
+        if (containsZero) {
+            values[index++] = 0;
+        }
+
+        for (long element : table) {
+            if (element != 0) {
+                values[index++] = element;
+            }
+        }
+
+        Arrays.sort(values);
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LongSet other && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    public static final class Deserializer extends StdDeserializer<LongSet> {
+        public Deserializer() {
+            super(LongSet.class);
+        }
+
+        @Override
+        public LongSet deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (LongSet) context.handleUnexpectedToken(LongSet.class, parser);
+            }
+
+            long[] values = new long[16];
+            int count = 0;
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                long value;
+
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    value = parser.getLongValue();
+                } else if (token == JsonToken.VALUE_STRING) {
+                    // Large IDs may be quoted, e.g. by formats that cannot represent every long as a number.
+                    value = context.readValue(parser, Long.class);
+                } else {
+                    return (LongSet) context.handleUnexpectedToken(long.class, parser);
+                }
+
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+
+                values[count++] = value;
+            }
+
+            return count == 0 ? EMPTY : new LongSet(values, count);
+        }
+    }
+}
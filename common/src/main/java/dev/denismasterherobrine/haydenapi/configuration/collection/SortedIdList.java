@@ -0,0 +1,138 @@
+package dev.denismasterherobrine.haydenapi.configuration.collection;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, sorted and deduplicated list of interned strings backed by a single array.
+ *
+ * <p>Membership checks are binary searches without boxing or hashing, and elements iterate in natural order,
+ * which also makes prefix lookups such as "all IDs of a namespace" cheap. Prefer {@link IdSet} when only
+ * membership matters. The list is built directly from the parser when a configuration is loaded.</p>
+ */
+@JsonDeserialize(using = SortedIdList.Deserializer.class)
+public final class SortedIdList extends AbstractList<String> implements RandomAccess {
+    private static final SortedIdList EMPTY = new SortedIdList(new String[0], 0);
+
+    private final String[] elements;
+
+    private SortedIdList(String[] elements, int length) {
+        Arrays.sort(elements, 0, length);
+        int size = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || !elements[size - 1].equals(elements[i])) {
+                elements[size++] = elements[i].intern();
+            }
+        }
+
+        this.elements = size == elements.length ? elements : Arrays.copyOf(elements, size);
+    }
+
+    public static SortedIdList of(String... ids) {
+        return ids.length == 0 ? EMPTY : new SortedIdList(ids.clone(), ids.length);
+    }
+
+    public static SortedIdList copyOf(Collection<String> ids) {
+        if (ids instanceof SortedIdList list) {
+            return list;
+        }
+
+        String[] elements = ids.toArray(new String[0]);
+        return elements.length == 0 ? EMPTY : new SortedIdList(elements, elements.length);
+    }
+
+    /**
+     * @param id the ID to look up
+     * @return whether the list contains the ID
+     */
+    public boolean contains(String id) {
+        return Arrays.binarySearch(elements, id) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String id && contains(id);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof String id)) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(elements, id);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * @param prefix the prefix, e.g. {@code "minecraft:"}
+     * @return the elements starting with the prefix, in order
+     */
+    public SortedIdList withPrefix(String prefix) {
+        int from = Arrays.binarySearch(elements, prefix);
+        from = from >= 0 ? from : -from - 1;
+        int to = from;
+
+        while (to < elements.length && elements[to].startsWith(prefix)) {
+            to++;
+        }
+
+        return from == 0 && to == elements.length ? this : new SortedIdList(Arrays.copyOfRange(elements, from, to), to - from);
+    }
+
+    @Override
+    public String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    public static final class Deserializer extends StdDeserializer<SortedIdList> {
+        public Deserializer() {
+            super(SortedIdList.class);
+        }
+
+        @Override
+        public SortedIdList deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (SortedIdList) context.handleUnexpectedToken(SortedIdList.class, parser);
+            }
+
+            String[] ids = new String[16];
+            int count = 0;
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    return (SortedIdList) context.handleUnexpectedToken(String.class, parser);
+                }
+
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+
+                ids[count++] = parser.getText();
+            }
+
+            return count == 0 ? EMPTY : new SortedIdList(ids, count);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dev.denismasterherobrine.haydenapi.configuration.distribution;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A versioned set of configuration messages distributed from the publishing node to the other nodes.
+ *
+ * <p>The header carries the epoch of the publisher, which changes whenever the publisher restarts, the version of
+ * the bundle and, for deltas, the version it applies on top of. The body is a list of
+ * {@linkplain dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSyncCodec config sync messages}, one per
+ * configuration: full bundles carry every entry of every distributed configuration, deltas only the changed
+ * entries of the changed configurations.</p>
+ *
+ * @param kind        whether the bundle carries the complete state or only changes
+ * @param epoch       identifies the run of the publisher that created the bundle
+ * @param version     the version of the state after applying the bundle
+ * @param baseVersion the version a delta applies on top of, equal to {@code version} for full bundles
+ * @param messages    the encoded config sync messages
+ */
+public record ConfigBundle(Kind kind, long epoch, long version, long baseVersion, List<byte[]> messages) {
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 1 + 1 + 8 + 8 + 8 + 4;
+
+    public byte[] encode() {
+        int length = HEADER_LENGTH;
+
+        for (byte[] message : messages) {
+            length += 4 + message.length;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            writeHeader(out);
+
+            for (byte[] message : messages) {
+                out.writeInt(message.length);
+                out.write(message);
+            }
+        } catch (IOException e) {
+            // A ByteArrayOutputStream never fails.
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(kind.ordinal());
+        out.writeLong(epoch);
+        out.writeLong(version);
+        out.writeLong(baseVersion);
+        out.writeInt(messages.size());
+    }
+
+    /**
+     * @param bundle the encoded bundle
+     * @return the decoded bundle
+     * @throws IOException if the bundle is malformed
+     */
+    public static ConfigBundle decode(byte[] bundle) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bundle));
+        ConfigBundle header = readHeader(in);
+        int count = in.readInt();
+
+        // Every message takes at least its length, so a larger count cannot be genuine.
+        if (count < 0 || count > in.available() / 4) {
+            throw new IOException("Invalid config bundle message count " + count);
+        }
+
+        List<byte[]> messages = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+
+            if (length < 0 || length > in.available()) {
+                throw new IOException("Truncated config bundle message of " + length + " bytes");
+            }
+
+            messages.add(in.readNBytes(length));
+        }
+
+        return new ConfigBundle(header.kind(), header.epoch(), header.version(), header.baseVersion(), messages);
+    }
+
+    /**
+     * Reads only the header of a bundle, e.g. to find the latest version without decoding the messages.
+     *
+     * @param bundle the encoded bundle
+     * @return the bundle without messages
+     * @throws IOException if the header is malformed
+     */
+    public static ConfigBundle decodeHeader(byte[] bundle) throws IOException {
+        return readHeader(new DataInputStream(new ByteArrayInputStream(bundle)));
+    }
+
+    private static ConfigBundle readHeader(DataInputStream in) throws IOException {
+        int format = in.readUnsignedByte();
+
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported config bundle format " + format);
+        }
+
+        int kind = in.readUnsignedByte();
+
+        if (kind >= Kind.values().length) {
+            throw new IOException("Unknown config bundle kind " + kind);
+        }
+
+        return new ConfigBundle(Kind.values()[kind], in.readLong(), in.readLong(), in.readLong(), List.of());
+    }
+
+    public enum Kind {
+        FULL, DELTA
+    }
+}
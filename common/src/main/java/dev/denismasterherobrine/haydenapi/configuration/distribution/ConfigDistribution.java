@@ -0,0 +1,426 @@
+package dev.denismasterherobrine.haydenapi.configuration.distribution;
+
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChange;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChangeEvent;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSyncCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Distributes configurations from one node of a server network to the others, instead of copying the
+ * configuration directory to every node and letting each of them reload on its own.
+ *
+ * <p>Every node registers the same configurations. The publishing node loads and hot-reloads them from its files
+ * as usual; the changed entries of each reload are sent as a versioned delta {@link ConfigBundle}. Subscribed nodes
+ * apply a delta only if it builds on the version they have. If a delta was missed, or the publisher restarted,
+ * they ask for the full bundle of the latest version instead. Received values are applied on the game thread,
+ * notify listeners like a reload, and are saved to the local files so a node starts with the last known state.</p>
+ *
+ * <p>How bundles travel is up to the {@link DistributionTransport}: a shared directory or a TCP connection to the
+ * publisher are built in.</p>
+ */
+public final class ConfigDistribution {
+    private static final Logger LOGGER = Logger.getLogger(ConfigDistribution.class.getName());
+
+    private final ConfigListeners listeners;
+    private final Executor mainThread;
+    private final BiConsumer<File, Object> saver;
+    private final ConfigSyncCodec codec = new ConfigSyncCodec();
+    private final Map<Long, DistributedConfig> configs = new ConcurrentHashMap<>();
+    private final Map<Long, ConfigValues> pending = new LinkedHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HaydenAPI Config Distribution");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Role role;
+    private DistributionTransport transport;
+    private long epoch;
+    private long version;
+
+    /**
+     * @param listeners  notified of the changes of received bundles, and the source of the changes to publish
+     * @param mainThread the thread received values are applied on
+     * @param saver      saves a configuration to its file after received values were applied
+     */
+    public ConfigDistribution(ConfigListeners listeners, Executor mainThread, BiConsumer<File, Object> saver) {
+        this.listeners = listeners;
+        this.mainThread = mainThread;
+        this.saver = saver;
+    }
+
+    /**
+     * Registers a configuration with static entries for distribution.
+     *
+     * @param file   the file of the configuration, written on subscribers after received values were applied,
+     *               or {@code null} to keep received values in memory only
+     * @param config an instance of the configuration class
+     */
+    public void register(File file, Object config) {
+        ConfigSchema schema = ConfigSchema.of(config.getClass());
+        register(new DistributedConfig(schema, file) {
+            @Override
+            ConfigValues capture() {
+                return ConfigValues.capture(schema);
+            }
+
+            @Override
+            Supplier<Object> prepare(ConfigValues values) {
+                Runnable assignment = values.prepareApply();
+                return () -> {
+                    assignment.run();
+                    return config;
+                };
+            }
+        });
+    }
+
+    /**
+     * Registers a record configuration in snapshot mode for distribution.
+     * Received values are published to the handle as a new snapshot.
+     *
+     * @param file   the file of the configuration, or {@code null} to keep received values in memory only
+     * @param config the handle of the configuration
+     */
+    public <T extends Record> void register(File file, SnapshotConfig<T> config) {
+        ConfigSchema schema = ConfigSchema.of(config.getConfigClass());
+        register(new DistributedConfig(schema, file) {
+            @Override
+            ConfigValues capture() {
+                return ConfigValues.capture(schema, config.get());
+            }
+
+            @Override
+            Supplier<Object> prepare(ConfigValues values) {
+                T updated = config.getConfigClass().cast(values.toRecord(config.get()));
+                return () -> config.publish(updated).value();
+            }
+        });
+    }
+
+    private void register(DistributedConfig config) {
+        ConfigSchema schema = config.schema;
+
+        if (configs.put(schema.getFingerprint(), config) == null) {
+            listeners.subscribe(schema.getConfigClass(), List.of(), this::collectChanges);
+        }
+    }
+
+    /**
+     * Makes this node the publisher: every change of a distributed configuration is sent to the subscribers.
+     *
+     * @param transport the transport to send bundles with
+     * @throws IOException if the transport cannot be started
+     * @throws IllegalStateException if distribution was already started
+     */
+    public synchronized void startPublisher(DistributionTransport transport) throws IOException {
+        checkNotStarted();
+        // A new epoch per run tells subscribers that the versions start over.
+        epoch = new SecureRandom().nextLong();
+        version = 1;
+        transport.startPublisher(encodeFull());
+        this.transport = transport;
+        this.role = Role.PUBLISHER;
+    }
+
+    /**
+     * Makes this node a subscriber: distributed configurations are updated from the bundles of the publisher.
+     *
+     * @param transport the transport to receive bundles with
+     * @throws IOException if the transport cannot be started
+     * @throws IllegalStateException if distribution was already started
+     */
+    public synchronized void startSubscriber(DistributionTransport transport) throws IOException {
+        checkNotStarted();
+        this.transport = transport;
+        this.role = Role.SUBSCRIBER;
+
+        try {
+            // The transport may deliver the current state right away, which needs the role to be set.
+            transport.startSubscriber(this);
+        } catch (IOException | RuntimeException e) {
+            this.transport = null;
+            this.role = null;
+            throw e;
+        }
+    }
+
+    private void checkNotStarted() {
+        if (role != null) {
+            throw new IllegalStateException("Configuration distribution was already started as " + role);
+        }
+    }
+
+    /**
+     * Stops distribution and closes the transport. Configurations keep their current values.
+     */
+    public synchronized void stop() {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error closing configuration distribution: " + e.getMessage(), e);
+            }
+        }
+
+        transport = null;
+        role = null;
+        pending.clear();
+    }
+
+    /**
+     * @return the role of this node, or {@code null} if distribution is not running
+     */
+    public synchronized Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return the epoch of the publisher run the current state comes from, {@code 0} before the first bundle
+     */
+    public synchronized long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return the version of the current state, {@code 0} before the first bundle
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private synchronized void collectChanges(ConfigChangeEvent event) {
+        if (role != Role.PUBLISHER) {
+            return;
+        }
+
+        ConfigSchema schema = ConfigSchema.of(event.configClass());
+        boolean first = pending.isEmpty();
+        ConfigValues delta = pending.computeIfAbsent(schema.getFingerprint(), fingerprint -> new ConfigValues(schema));
+
+        for (ConfigChange change : event.changes().values()) {
+            delta.set(schema.getEntry(change.key()).getIndex(), change.newValue());
+        }
+
+        // Listeners of one reload, e.g. of a configuration group, run back to back on the game thread.
+        // Flushing after them sends their changes as one bundle.
+        if (first) {
+            mainThread.execute(this::flush);
+        }
+    }
+
+    private synchronized void flush() {
+        if (role != Role.PUBLISHER || pending.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> messages = new ArrayList<>(pending.size());
+
+        for (ConfigValues delta : pending.values()) {
+            try {
+                messages.add(codec.encode(ConfigSyncCodec.Kind.DELTA, delta.getSchema(), delta));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error encoding changes of configuration "
+                        + delta.getSchema().getConfigClass().getName() + " for distribution: " + e.getMessage(), e);
+            }
+        }
+
+        pending.clear();
+        version++;
+        byte[] delta = new ConfigBundle(ConfigBundle.Kind.DELTA, epoch, version, version - 1, messages).encode();
+        byte[] full = encodeFull();
+        DistributionTransport target = transport;
+        long sent = version;
+
+        sender.execute(() -> {
+            try {
+                target.broadcast(delta, full);
+            } catch (IOException | RuntimeException e) {
+                // Subscribers that miss the delta catch up from the full bundle of a later version.
+                LOGGER.log(Level.WARNING, "Error distributing configuration version " + sent + ": "
+                        + e.getMessage(), e);
+            }
+        });
+    }
+
+    private byte[] encodeFull() {
+        List<byte[]> messages = new ArrayList<>(configs.size());
+
+        for (DistributedConfig config : configs.values()) {
+            try {
+                messages.add(codec.encode(ConfigSyncCodec.Kind.FULL, config.schema, config.capture()));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error encoding configuration " + config.schema.getConfigClass().getName()
+                        + " for distribution: " + e.getMessage(), e);
+            }
+        }
+
+        return new ConfigBundle(ConfigBundle.Kind.FULL, epoch, version, version, messages).encode();
+    }
+
+    /**
+     * Applies a bundle received from the publisher. Called by the transport on any thread; the values are applied
+     * on the game thread.
+     *
+     * @param bundle the encoded bundle
+     * @return whether the bundle was accepted; duplicates, bundles of unknown configurations and deltas that do not
+     *         build on the current version are not, the latter trigger a request for the full bundle
+     */
+    public synchronized boolean receive(byte[] bundle) {
+        if (role != Role.SUBSCRIBER) {
+            return false;
+        }
+
+        ConfigBundle decoded;
+
+        try {
+            decoded = ConfigBundle.decode(bundle);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Discarding malformed configuration bundle: " + e.getMessage(), e);
+            return false;
+        }
+
+        boolean sameEpoch = decoded.epoch() == epoch;
+
+        if (sameEpoch && decoded.version() <= version) {
+            return false;
+        }
+
+        if (decoded.kind() == ConfigBundle.Kind.DELTA && (!sameEpoch || decoded.baseVersion() != version)) {
+            LOGGER.log(Level.FINE, "Configuration delta " + decoded.version() + " does not apply to version "
+                    + version + ", requesting the full configuration");
+            requestFull();
+            return false;
+        }
+
+        List<ConfigSyncCodec.Message> messages = new ArrayList<>(decoded.messages().size());
+
+        for (byte[] message : decoded.messages()) {
+            try {
+                ConfigSyncCodec.Message received = codec.decode(message, fingerprint -> {
+                    DistributedConfig config = configs.get(fingerprint);
+                    return config != null ? config.schema : null;
+                });
+
+                if (received == null) {
+                    LOGGER.log(Level.FINE, "Ignoring distributed configuration that is not registered here");
+                } else {
+                    messages.add(received);
+                }
+            } catch (IOException | RuntimeException e) {
+                // A bundle is applied completely or not at all, so that the version always describes the state.
+                LOGGER.log(Level.WARNING, "Discarding configuration bundle " + decoded.version()
+                        + " with a malformed message: " + e.getMessage(), e);
+                return false;
+            }
+        }
+
+        epoch = decoded.epoch();
+        version = decoded.version();
+        mainThread.execute(() -> apply(decoded, messages));
+        return true;
+    }
+
+    private void requestFull() {
+        try {
+            transport.requestFull();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error requesting the full configuration: " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(ConfigBundle bundle, List<ConfigSyncCodec.Message> messages) {
+        List<DistributedConfig> targets = new ArrayList<>(messages.size());
+        List<Supplier<Object>> commits = new ArrayList<>(messages.size());
+
+        // Everything that can fail, e.g. derived values, happens before the first configuration is touched.
+        for (ConfigSyncCodec.Message message : messages) {
+            DistributedConfig config = configs.get(message.schema().getFingerprint());
+
+            try {
+                commits.add(config.prepare(message.values()));
+                targets.add(config);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error applying distributed configuration version " + bundle.version()
+                        + " to " + config.schema.getConfigClass().getName() + ": " + e.getMessage(), e);
+                discard(bundle);
+                return;
+            }
+        }
+
+        for (int i = 0; i < commits.size(); i++) {
+            DistributedConfig config = targets.get(i);
+            ConfigValues before = config.capture();
+            Object applied = commits.get(i).get();
+            Map<String, ConfigChange> changes = listeners.publish(before, config.capture());
+
+            if (!changes.isEmpty() && config.file != null) {
+                try {
+                    saver.accept(config.file, applied);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error saving distributed configuration "
+                            + config.schema.getConfigClass().getName() + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the version of a bundle that could not be applied, so that the version never describes values this
+     * node does not have. A failed delta asks for the full bundle right away; after a failed full bundle the next
+     * delta does not apply and asks for it, so that a bundle that fails every time is not requested in a loop.
+     */
+    private synchronized void discard(ConfigBundle bundle) {
+        if (role != Role.SUBSCRIBER) {
+            return;
+        }
+
+        version = 0;
+
+        if (bundle.kind() == ConfigBundle.Kind.DELTA) {
+            requestFull();
+        }
+    }
+
+    public enum Role {
+        PUBLISHER, SUBSCRIBER
+    }
+
+    private abstract static class DistributedConfig {
+        final ConfigSchema schema;
+        final File file;
+
+        DistributedConfig(ConfigSchema schema, File file) {
+            this.schema = schema;
+            this.file = file;
+        }
+
+        abstract ConfigValues capture();
+
+        /**
+         * Checks the values against the configuration without changing it.
+         *
+         * @return assigns or publishes the values and returns the applied configuration
+         * @throws RuntimeException if the values cannot be applied, e.g. a derived value fails
+         */
+        abstract Supplier<Object> prepare(ConfigValues values);
+    }
+}
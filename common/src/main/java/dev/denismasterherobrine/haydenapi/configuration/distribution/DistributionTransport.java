@@ -0,0 +1,50 @@
+package dev.denismasterherobrine.haydenapi.configuration.distribution;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Moves encoded {@link ConfigBundle}s from the publishing node to the subscribed nodes.
+ *
+ * <p>A transport is started in one role. On the publisher, {@link ConfigDistribution} hands it every delta
+ * together with the full bundle of the same version, which the transport serves to nodes that join late or
+ * fall behind. On a subscriber, the transport passes every received bundle to
+ * {@link ConfigDistribution#receive(byte[])}; version checks and ordering are left to the distribution.</p>
+ *
+ * @see FileDistributionTransport
+ * @see SocketDistributionTransport
+ */
+public interface DistributionTransport extends Closeable {
+    /**
+     * Starts the transport on the publishing node.
+     *
+     * @param full the full bundle of the current state
+     * @throws IOException if the transport cannot be started
+     */
+    void startPublisher(byte[] full) throws IOException;
+
+    /**
+     * Sends a delta to every subscribed node. Called on the distribution thread, one bundle at a time.
+     *
+     * @param delta the delta bundle
+     * @param full  the full bundle of the same version, for nodes that cannot apply the delta
+     * @throws IOException if the bundle cannot be sent
+     */
+    void broadcast(byte[] delta, byte[] full) throws IOException;
+
+    /**
+     * Starts the transport on a subscribed node.
+     *
+     * @param distribution receives the bundles
+     * @throws IOException if the transport cannot be started
+     */
+    void startSubscriber(ConfigDistribution distribution) throws IOException;
+
+    /**
+     * Asks for the full bundle of the latest version, after the subscriber missed a delta or the publisher
+     * restarted. The bundle may be delivered asynchronously.
+     *
+     * @throws IOException if the request cannot be sent
+     */
+    void requestFull() throws IOException;
+}
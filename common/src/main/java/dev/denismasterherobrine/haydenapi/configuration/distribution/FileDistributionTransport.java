@@ -0,0 +1,109 @@
+package dev.denismasterherobrine.haydenapi.configuration.distribution;
+
+import dev.denismasterherobrine.haydenapi.configuration.io.AtomicFileWriter;
+import dev.denismasterherobrine.haydenapi.configuration.watch.ConfigWatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Distributes bundles through a directory that all nodes can access, e.g. a network share.
+ *
+ * <p>The publisher writes every delta to {@code bundle-<version>.bin} and then replaces {@code full.bin} with
+ * the full bundle of the same version; both are written atomically. Only the most recent deltas are kept.
+ * Subscribers watch {@code full.bin} and read the deltas between their version and the latest one, falling back to
+ * {@code full.bin} if a delta was already removed or the publisher restarted. Network filesystems usually do not
+ * report changes to the native watch service, use {@code -Dhaydenapi.config.watcher=polling} on such shares.</p>
+ */
+public final class FileDistributionTransport implements DistributionTransport {
+    private static final Logger LOGGER = Logger.getLogger(FileDistributionTransport.class.getName());
+    private static final String FULL = "full.bin";
+    private static final int RETAINED_DELTAS = 32;
+
+    private final Path directory;
+    private ConfigDistribution distribution;
+    private ConfigWatcher.Registration registration;
+
+    /**
+     * @param directory the shared directory, created by the publisher if it does not exist
+     */
+    public FileDistributionTransport(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void startPublisher(byte[] full) throws IOException {
+        Files.createDirectories(directory);
+        AtomicFileWriter.write(directory.resolve(FULL), full);
+    }
+
+    @Override
+    public void broadcast(byte[] delta, byte[] full) throws IOException {
+        long version = ConfigBundle.decodeHeader(delta).version();
+        // The delta must exist before full.bin announces its version.
+        AtomicFileWriter.write(deltaFile(version), delta);
+        AtomicFileWriter.write(directory.resolve(FULL), full);
+        Files.deleteIfExists(deltaFile(version - RETAINED_DELTAS));
+    }
+
+    @Override
+    public void startSubscriber(ConfigDistribution distribution) throws IOException {
+        this.distribution = distribution;
+        registration = ConfigWatcher.getInstance().watch(directory.resolve(FULL), this::catchUp);
+        catchUp();
+    }
+
+    private void catchUp() {
+        try {
+            byte[] full = Files.readAllBytes(directory.resolve(FULL));
+            ConfigBundle latest = ConfigBundle.decodeHeader(full);
+
+            if (latest.epoch() != distribution.getEpoch()) {
+                distribution.receive(full);
+                return;
+            }
+
+            for (long version = distribution.getVersion() + 1; version <= latest.version(); version++) {
+                byte[] delta;
+
+                try {
+                    delta = Files.readAllBytes(deltaFile(version));
+                } catch (NoSuchFileException e) {
+                    distribution.receive(full);
+                    return;
+                }
+
+                if (!distribution.receive(delta)) {
+                    // The delta did not apply and the distribution already requested the full bundle.
+                    return;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            LOGGER.log(Level.FINE, "No configuration has been published to " + directory + " yet");
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error reading distributed configuration from " + directory + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void requestFull() throws IOException {
+        distribution.receive(Files.readAllBytes(directory.resolve(FULL)));
+    }
+
+    private Path deltaFile(long version) {
+        return directory.resolve("bundle-" + version + ".bin");
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.cancel();
+            registration = null;
+        }
+    }
+}
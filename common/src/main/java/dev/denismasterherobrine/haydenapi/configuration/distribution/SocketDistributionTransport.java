@@ -0,0 +1,239 @@
+package dev.denismasterherobrine.haydenapi.configuration.distribution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Distributes bundles over TCP connections from the subscribers to the publisher.
+ *
+ * <p>The publisher listens on the given address and sends the full bundle of the latest version to every node that
+ * connects, then every delta. Subscribers connect to the publisher, reconnect with a delay when the connection is
+ * lost, and ask for the full bundle over the same connection when they missed a delta. Bundles are sent as frames
+ * of a length and the encoded bundle.</p>
+ *
+ * <p>Deltas are written to the subscribers one after the other; a subscriber that stops reading holds up the
+ * others until its connection fails. The connection is not authenticated or encrypted, bind the publisher to an
+ * address of the internal network only.</p>
+ */
+public final class SocketDistributionTransport implements DistributionTransport {
+    private static final Logger LOGGER = Logger.getLogger(SocketDistributionTransport.class.getName());
+    private static final int MAX_FRAME_LENGTH = 64 << 20;
+    private static final int REQUEST_FULL = 1;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = Long.getLong("haydenapi.config.distributionReconnectMs", 5000);
+
+    private final InetSocketAddress address;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile byte[] latestFull;
+    private volatile boolean closed;
+    private volatile ServerSocket server;
+    private volatile Connection upstream;
+
+    /**
+     * @param address on the publisher, the address to listen on; on subscribers, the address of the publisher
+     */
+    public SocketDistributionTransport(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * @return the address the publisher listens on, with the actual port if it was started on port 0
+     */
+    public InetSocketAddress getAddress() {
+        ServerSocket socket = server;
+        return socket != null ? (InetSocketAddress) socket.getLocalSocketAddress() : address;
+    }
+
+    @Override
+    public void startPublisher(byte[] full) throws IOException {
+        latestFull = full;
+        ServerSocket socket = new ServerSocket();
+        socket.bind(address);
+        server = socket;
+        startThread("HaydenAPI Config Distribution Server", () -> accept(socket));
+    }
+
+    private void accept(ServerSocket socket) {
+        while (!closed) {
+            try {
+                Connection connection = new Connection(socket.accept());
+                connections.add(connection);
+                startThread("HaydenAPI Config Distribution Peer", () -> serve(connection));
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Error accepting configuration subscriber: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void serve(Connection connection) {
+        try {
+            connection.send(latestFull);
+
+            while (connection.in.read() == REQUEST_FULL) {
+                connection.send(latestFull);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Configuration subscriber " + connection.socket.getRemoteSocketAddress()
+                    + " disconnected: " + e.getMessage());
+        } finally {
+            connections.remove(connection);
+            connection.close();
+        }
+    }
+
+    @Override
+    public void broadcast(byte[] delta, byte[] full) {
+        latestFull = full;
+
+        for (Connection connection : connections) {
+            try {
+                connection.send(delta);
+            } catch (IOException e) {
+                // The subscriber receives the full bundle when it reconnects.
+                LOGGER.log(Level.FINE, "Dropping configuration subscriber " + connection.socket.getRemoteSocketAddress()
+                        + ": " + e.getMessage());
+                connections.remove(connection);
+                connection.close();
+            }
+        }
+    }
+
+    @Override
+    public void startSubscriber(ConfigDistribution distribution) {
+        startThread("HaydenAPI Config Distribution Client", () -> subscribe(distribution));
+    }
+
+    private void subscribe(ConfigDistribution distribution) {
+        boolean reported = false;
+
+        while (!closed) {
+            try (Socket socket = new Socket()) {
+                socket.connect(address, CONNECT_TIMEOUT_MS);
+                Connection connection = new Connection(socket);
+                upstream = connection;
+                reported = false;
+                LOGGER.log(Level.INFO, "Receiving configurations from " + address);
+
+                while (!closed) {
+                    distribution.receive(connection.read());
+                }
+            } catch (IOException | RuntimeException e) {
+                // The connection is dropped and opened again, the publisher then sends the full bundle.
+                if (!closed && !reported) {
+                    LOGGER.log(Level.WARNING, "Lost connection to configuration publisher " + address
+                            + ", retrying every " + RECONNECT_DELAY_MS + " ms: " + e);
+                    reported = true;
+                }
+            } finally {
+                upstream = null;
+            }
+
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void requestFull() throws IOException {
+        Connection connection = upstream;
+
+        // Without a connection there is nothing to do, the publisher sends the full bundle on connect.
+        if (connection != null) {
+            connection.requestFull();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ServerSocket socket = server;
+
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing configuration distribution socket: " + e.getMessage());
+            }
+        }
+
+        for (Connection connection : connections) {
+            connection.close();
+        }
+
+        Connection connection = upstream;
+
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private static void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        synchronized void send(byte[] frame) throws IOException {
+            out.writeInt(frame.length);
+            out.write(frame);
+            out.flush();
+        }
+
+        synchronized void requestFull() throws IOException {
+            out.writeByte(REQUEST_FULL);
+            out.flush();
+        }
+
+        byte[] read() throws IOException {
+            int length = in.readInt();
+
+            if (length < 0 || length > MAX_FRAME_LENGTH) {
+                throw new IOException("Invalid configuration bundle frame of " + length + " bytes");
+            }
+
+            byte[] frame = in.readNBytes(length);
+
+            if (frame.length != length) {
+                throw new EOFException("Configuration bundle frame ended after " + frame.length + " bytes");
+            }
+
+            return frame;
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing configuration distribution connection: " + e.getMessage());
+            }
+        }
+    }
+}
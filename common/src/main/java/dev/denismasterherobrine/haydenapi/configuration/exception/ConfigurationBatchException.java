@@ -0,0 +1,38 @@
+package dev.denismasterherobrine.haydenapi.configuration.exception;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Reports all failures of a bulk configuration load. Configurations that loaded successfully are still
+ * initialized and available through {@link #getLoaded()}.
+ */
+public class ConfigurationBatchException extends ConfigurationException {
+    private final Map<String, ConfigurationException> failures;
+    private final Map<String, Object> loaded;
+
+    public ConfigurationBatchException(Map<String, ConfigurationException> failures, Map<String, Object> loaded) {
+        super(failures.size() + " of " + (failures.size() + loaded.size())
+                + " configurations failed to load: " + failures.keySet());
+        this.failures = Collections.unmodifiableMap(failures);
+        this.loaded = Collections.unmodifiableMap(loaded);
+
+        for (ConfigurationException failure : failures.values()) {
+            addSuppressed(failure);
+        }
+    }
+
+    /**
+     * @return the failure of every configuration that could not be loaded, keyed by path
+     */
+    public Map<String, ConfigurationException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the configurations that were loaded successfully, keyed by path
+     */
+    public Map<String, Object> getLoaded() {
+        return loaded;
+    }
+}
@@ -1,12 +1,63 @@
 package dev.denismasterherobrine.haydenapi.configuration.format;
 
 import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface FormatHandler {
     <T> T load(File file, Class<T> configClass) throws ConfigurationException;
 
     <T> void save(File file, T config) throws ConfigurationException;
-}
 
+    /**
+     * Decodes the entries of a schema from file content without assigning them.
+     *
+     * @param source the file content
+     * @param schema the schema of the configuration class
+     * @return the decoded values, entries missing from the source are absent
+     * @throws IOException if the content cannot be parsed
+     */
+    ConfigValues read(byte[] source, ConfigSchema schema) throws IOException;
+
+    /**
+     * Encodes configuration values in this format.
+     *
+     * @param out    the stream to write to, must not be closed by the handler
+     * @param schema the schema of the configuration class
+     * @param values the values to write
+     * @throws IOException if writing fails
+     */
+    void write(OutputStream out, ConfigSchema schema, ConfigValues values) throws IOException;
+
+    /**
+     * Locates the values of the top-level entries in file content, so that changed values can be patched in place
+     * by incremental saves.
+     *
+     * @param source the file content
+     * @param schema the schema of the configuration class
+     * @return the spans of the entries found in the source, or {@code null} if this format does not support
+     *         incremental saves
+     * @throws IOException if the content cannot be parsed
+     */
+    default SourceSpans locate(byte[] source, ConfigSchema schema) throws IOException {
+        return null;
+    }
+
+    /**
+     * Encodes a single value so that it can replace the span of an entry located by
+     * {@link #locate(byte[], ConfigSchema)}.
+     *
+     * @param entry the entry
+     * @param value the new value
+     * @return the encoded value, or {@code null} if it cannot be written inline
+     * @throws IOException if encoding fails
+     */
+    default byte[] encodeInline(ConfigEntry entry, Object value) throws IOException {
+        return null;
+    }
+}
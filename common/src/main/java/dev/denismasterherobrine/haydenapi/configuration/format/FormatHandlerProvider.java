@@ -0,0 +1,24 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import java.util.List;
+
+/**
+ * Contributes a {@link FormatHandler} for one or more file extensions.
+ *
+ * <p>Providers are discovered with {@link java.util.ServiceLoader}: list the implementing class in
+ * {@code META-INF/services/dev.denismasterherobrine.haydenapi.configuration.format.FormatHandlerProvider}.
+ * Discovery only instantiates the provider; {@link #create()} is called the first time a file with one of its
+ * extensions is loaded or saved. Handlers can also be registered directly with
+ * {@link FormatRegistry#register(String, java.util.function.Supplier)}.</p>
+ */
+public interface FormatHandlerProvider {
+    /**
+     * @return the file extensions handled, without the leading dot
+     */
+    List<String> getExtensions();
+
+    /**
+     * @return a new handler, shared by all configurations with one of the extensions
+     */
+    FormatHandler create();
+}
@@ -0,0 +1,144 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Maps file extensions to {@link FormatHandler}s.
+ *
+ * <p>Handlers are created on first use, so the Jackson mappers of formats that are never used are never built.
+ * The built-in formats are {@code json5}, {@code toml}, {@code yaml}/{@code yml} and the binary {@code smile};
+ * further formats are registered with {@link #register(String, Supplier)} or discovered through
+ * {@link FormatHandlerProvider}s the first time an extension is not found.</p>
+ */
+public final class FormatRegistry {
+    private static final Logger LOGGER = Logger.getLogger(FormatRegistry.class.getName());
+
+    private final Map<String, LazyHandler> handlers = new ConcurrentHashMap<>();
+    private volatile boolean providersLoaded;
+
+    public FormatRegistry() {
+        // Lambdas instead of constructor references: resolving a constructor reference loads the handler class,
+        // and with it the Jackson data format it links against, even if no file of the format is ever loaded.
+        register("json5", () -> new Json5ConfigurationHandler());
+        register("toml", () -> new TomlConfigurationHandler());
+
+        LazyHandler yaml = new LazyHandler(() -> new YamlConfigurationHandler());
+        handlers.put("yaml", yaml);
+        handlers.put("yml", yaml);
+
+        register("smile", () -> new SmileConfigurationHandler());
+    }
+
+    /**
+     * Registers the handler of a file extension. The factory is called once, when the first file with the
+     * extension is loaded or saved.
+     *
+     * @param extension the file extension, without the leading dot
+     * @param factory   creates the handler
+     * @throws IllegalArgumentException if the extension is already registered
+     */
+    public void register(String extension, Supplier<? extends FormatHandler> factory) {
+        String key = extension.toLowerCase(Locale.ROOT);
+
+        if (handlers.putIfAbsent(key, new LazyHandler(factory)) != null) {
+            throw new IllegalArgumentException("A format handler is already registered for extension: " + extension);
+        }
+    }
+
+    /**
+     * @param extension the file extension, without the leading dot
+     * @return the handler of the extension, or {@code null} if no handler is registered for it
+     */
+    public FormatHandler get(String extension) {
+        String key = extension.toLowerCase(Locale.ROOT);
+        LazyHandler handler = handlers.get(key);
+
+        if (handler == null && !providersLoaded) {
+            loadProviders();
+            handler = handlers.get(key);
+        }
+
+        return handler != null ? handler.get() : null;
+    }
+
+    /**
+     * @param file a configuration file
+     * @return the lower-case extension of the file name, or {@code null} if it has none
+     */
+    public static String getExtension(File file) {
+        String name = file.getName();
+        int dotIndex = name.lastIndexOf('.');
+
+        if (dotIndex <= 0 || dotIndex == name.length() - 1) {
+            return null;
+        }
+
+        return name.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the registered extensions, including the ones of discovered providers
+     */
+    public Set<String> getExtensions() {
+        if (!providersLoaded) {
+            loadProviders();
+        }
+
+        return new TreeSet<>(handlers.keySet());
+    }
+
+    private synchronized void loadProviders() {
+        if (providersLoaded) {
+            return;
+        }
+
+        for (FormatHandlerProvider provider : ServiceLoader.load(FormatHandlerProvider.class,
+                FormatHandlerProvider.class.getClassLoader())) {
+            LazyHandler handler = new LazyHandler(provider::create);
+
+            for (String extension : provider.getExtensions()) {
+                if (handlers.putIfAbsent(extension.toLowerCase(Locale.ROOT), handler) != null) {
+                    LOGGER.log(Level.WARNING, "Ignoring format handler " + provider.getClass().getName()
+                            + " for extension " + extension + ", another handler is already registered");
+                }
+            }
+        }
+
+        providersLoaded = true;
+    }
+
+    private static final class LazyHandler {
+        private final Supplier<? extends FormatHandler> factory;
+        private volatile FormatHandler handler;
+
+        LazyHandler(Supplier<? extends FormatHandler> factory) {
+            this.factory = factory;
+        }
+
+        FormatHandler get() {
+            FormatHandler result = handler;
+
+            if (result == null) {
+                synchronized (this) {
+                    result = handler;
+
+                    if (result == null) {
+                        result = factory.get();
+                        handler = result;
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+import dev.denismasterherobrine.haydenapi.configuration.io.AtomicFileWriter;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Base for format handlers backed by a Jackson {@link ObjectMapper}.
+ *
+ * <p>Files are bound token by token: the parser walks the top-level object and every known entry is read
+ * straight into its declared (generic) type, unknown keys are skipped without being materialized.
+ * Saves stream through a {@link JsonGenerator} into the target file.</p>
+ */
+public abstract class JacksonFormatHandler implements FormatHandler {
+    protected final ObjectMapper mapper;
+    protected final ObjectWriter valueWriter;
+    private final String formatName;
+    private final ClassValue<ObjectReader[]> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader[] computeValue(Class<?> type) {
+            List<ConfigEntry> entries = ConfigSchema.of(type).getEntries();
+            ObjectReader[] result = new ObjectReader[entries.size()];
+
+            for (ConfigEntry entry : entries) {
+                result[entry.getIndex()] = mapper.readerFor(mapper.constructType(entry.getGenericType()));
+            }
+
+            return result;
+        }
+    };
+
+    protected JacksonFormatHandler(ObjectMapper mapper, String formatName) {
+        this.mapper = mapper;
+        this.valueWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.formatName = formatName;
+    }
+
+    @Override
+    public <T> T load(File file, Class<T> configClass) throws ConfigurationException {
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            ConfigSchema schema = ConfigSchema.of(configClass);
+            ConfigValues values = read(bytes, schema);
+
+            if (schema.isRecord()) {
+                return configClass.cast(values.toRecord(configClass.getDeclaredConstructor().newInstance()));
+            }
+
+            values.apply();
+            return configClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new ConfigurationException("Error loading " + formatName + " file: " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> void save(File file, T config) throws ConfigurationException {
+        try {
+            ConfigSchema schema = ConfigSchema.of(config.getClass());
+            ConfigValues values = ConfigValues.capture(schema, config);
+            AtomicFileWriter.write(file.toPath(), out -> write(out, schema, values));
+        } catch (IOException | RuntimeException e) {
+            throw new ConfigurationException("Error saving " + formatName + " file: " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public ConfigValues read(byte[] source, ConfigSchema schema) throws IOException {
+        try (JsonParser parser = mapper.createParser(source)) {
+            return bind(parser, schema);
+        }
+    }
+
+    /**
+     * Binds the top-level object the parser is positioned before to the entries of the schema.
+     *
+     * @param parser the parser, positioned before the start of the object
+     * @param schema the schema to bind to
+     * @return the bound values
+     * @throws IOException if the content is malformed or a value does not match its entry type
+     */
+    protected ConfigValues bind(JsonParser parser, ConfigSchema schema) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an object of configuration entries");
+        }
+
+        ObjectReader[] entryReaders = readers.get(schema.getConfigClass());
+        ConfigValues values = new ConfigValues(schema);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            ConfigEntry entry = schema.getEntry(parser.currentName());
+            parser.nextToken();
+
+            if (entry == null) {
+                parser.skipChildren();
+                continue;
+            }
+
+            values.set(entry.getIndex(), entryReaders[entry.getIndex()].readValue(parser));
+        }
+
+        return values;
+    }
+
+    @Override
+    public void write(OutputStream out, ConfigSchema schema, ConfigValues values) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+
+            for (ConfigEntry entry : schema.getEntries()) {
+                if (!values.isPresent(entry.getIndex())) {
+                    continue;
+                }
+
+                generator.writeFieldName(entry.getName());
+                valueWriter.writeValue(generator, values.get(entry.getIndex()));
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Encodes a value as compact JSON, which is also a valid inline value in YAML (flow style) and,
+     * for strings, numbers, booleans and arrays of those, in TOML.
+     *
+     * @param value the value
+     * @return the JSON encoding of the value
+     * @throws IOException if encoding fails
+     */
+    protected static byte[] encodeJson(Object value) throws IOException {
+        return InlineJson.WRITER.writeValueAsBytes(value);
+    }
+
+    /**
+     * Creates the generator used by {@link #write(OutputStream, ConfigSchema, ConfigValues)}.
+     * Text formats are pretty-printed by default.
+     *
+     * @param out the stream to write to
+     * @return a new generator
+     * @throws IOException if the generator cannot be created
+     */
+    protected JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return mapper.writerWithDefaultPrettyPrinter().createGenerator(out);
+    }
+
+    private static final class InlineJson {
+        // Only needed by incremental saves of text formats, so it is created on first use.
+        private static final ObjectWriter WRITER = new ObjectMapper().writer();
+    }
+}
@@ -1,98 +1,92 @@
 package dev.denismasterherobrine.haydenapi.configuration.format;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
-import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
-import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
 
-import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.nio.file.Files;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-public class Json5ConfigurationHandler implements FormatHandler {
-    private final ObjectMapper objectMapper;
 
+public class Json5ConfigurationHandler extends JacksonFormatHandler {
     public Json5ConfigurationHandler() {
+        super(createMapper(), "JSON5");
+    }
+
+    private static ObjectMapper createMapper() {
         JsonFactory factory = new JsonFactory();
         factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
         factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
         factory.enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES);
         factory.enable(JsonParser.Feature.ALLOW_TRAILING_COMMA);
-        objectMapper = new ObjectMapper(factory);
+        return new ObjectMapper(factory);
     }
 
     @Override
-    public <T> T load(File file, Class<T> configClass) throws ConfigurationException {
-        try {
-            byte[] bytes = Files.readAllBytes(file.toPath());
-            Map<String, Object> map = objectMapper.readValue(bytes, HashMap.class);
-            for (Field field : configClass.getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Entry.class)) {
-                    field.setAccessible(true);
-                    if (map.containsKey(field.getName())) {
-                        Object value = map.get(field.getName());
-                        Object converted = objectMapper.convertValue(value, field.getType());
-                        field.set(null, converted);
-                    }
+    public void write(OutputStream out, ConfigSchema schema, ConfigValues values) throws IOException {
+        List<ConfigEntry> entries = new ArrayList<>();
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            if (values.isPresent(entry.getIndex())) {
+                entries.add(entry);
+            }
+        }
+
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            // Entries are written as a sequence of root values, the layout and comments around them are raw.
+            generator.setRootValueSeparator(null);
+            generator.writeRaw("{\n");
+
+            for (int i = 0; i < entries.size(); i++) {
+                ConfigEntry entry = entries.get(i);
+
+                if (entry.getComment() != null) {
+                    generator.writeRaw("  // " + entry.getComment() + "\n");
                 }
+
+                generator.writeRaw("  \"" + entry.getName() + "\": ");
+                valueWriter.writeValue(generator, values.get(entry.getIndex()));
+                generator.writeRaw(i < entries.size() - 1 ? ",\n" : "\n");
             }
 
-            return configClass.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new ConfigurationException("Error loading JSON5 file: " + file.getName(), e);
+            generator.writeRaw("}\n");
         }
     }
 
     @Override
-    public <T> void save(File file, T config) throws ConfigurationException {
-        try {
-            Class<?> configClass = config.getClass();
-            Field[] fields = configClass.getDeclaredFields();
-            List<Field> staticEntryFields = new ArrayList<>();
-
-            for (Field field : fields) {
-                if (Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Entry.class)) {
-                    staticEntryFields.add(field);
-                }
-            }
+    public SourceSpans locate(byte[] source, ConfigSchema schema) throws IOException {
+        SourceSpans spans = new SourceSpans(schema.getEntries().size());
 
-            StringBuilder sb = new StringBuilder();
-            sb.append("{\n");
-            for (int i = 0; i < staticEntryFields.size(); i++) {
-                Field field = staticEntryFields.get(i);
-                field.setAccessible(true);
-                Comment commentAnnotation = field.getAnnotation(Comment.class);
-
-                if (commentAnnotation != null) {
-                    sb.append("  // ").append(commentAnnotation.value()).append("\n");
-                }
+        try (JsonParser parser = mapper.createParser(source)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an object of configuration entries");
+            }
 
-                sb.append("  \"").append(field.getName()).append("\": ");
-                Object value = field.get(null);
-                String jsonValue = objectMapper.writeValueAsString(value);
-                sb.append(jsonValue);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                ConfigEntry entry = schema.getEntry(parser.currentName());
+                parser.nextToken();
+                long start = parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                parser.finishToken();
 
-                if (i < staticEntryFields.size() - 1) {
-                    sb.append(",");
+                if (entry != null) {
+                    spans.set(entry.getIndex(), (int) start, (int) parser.currentLocation().getByteOffset());
                 }
-
-                sb.append("\n");
             }
-
-            sb.append("}\n");
-            Files.write(file.toPath(), sb.toString().getBytes());
-        } catch (IOException | IllegalAccessException e) {
-            throw new ConfigurationException("Error saving JSON5 file: " + file.getName(), e);
         }
-    }
-}
 
+        return spans;
+    }
 
+    @Override
+    public byte[] encodeInline(ConfigEntry entry, Object value) throws IOException {
+        return valueWriter.writeValueAsBytes(value);
+    }
+}
@@ -0,0 +1,187 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Locates single-line top-level {@code key = value} (TOML) or {@code key: value} (YAML) entries.
+ *
+ * <p>Only values that start and end on the line of their key get a span; multi-line strings, block collections,
+ * unbalanced flow collections and anything after the first TOML table header are left out, so changes to those
+ * entries are saved by rewriting the file.</p>
+ */
+final class LineEntryScanner {
+    private LineEntryScanner() {}
+
+    static SourceSpans scan(byte[] source, ConfigSchema schema, char separator) {
+        SourceSpans spans = new SourceSpans(schema.getEntries().size());
+        int lineStart = 0;
+
+        while (lineStart < source.length) {
+            int lineEnd = lineStart;
+
+            while (lineEnd < source.length && source[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            int contentEnd = lineEnd > lineStart && source[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (contentEnd > lineStart) {
+                byte first = source[lineStart];
+
+                if (separator == '=' && first == '[') {
+                    // Keys after a table header belong to that table.
+                    break;
+                }
+
+                if (separator == ':' && startsWith(source, lineStart, contentEnd, "...")) {
+                    break;
+                }
+
+                if (first != ' ' && first != '\t' && first != '#' && first != '-') {
+                    scanLine(source, lineStart, contentEnd, lineEnd, schema, separator, spans);
+                }
+            }
+
+            lineStart = lineEnd + 1;
+        }
+
+        return spans;
+    }
+
+    private static void scanLine(byte[] source, int start, int end, int lineEnd, ConfigSchema schema, char separator,
+                                 SourceSpans spans) {
+        int keyEnd;
+        String key;
+
+        if (source[start] == '"' || source[start] == '\'') {
+            int close = indexOf(source, start + 1, end, source[start]);
+
+            if (close < 0) {
+                return;
+            }
+
+            key = new String(source, start + 1, close - start - 1, StandardCharsets.UTF_8);
+            keyEnd = close + 1;
+        } else {
+            keyEnd = start;
+
+            while (keyEnd < end && source[keyEnd] != separator && source[keyEnd] != ' ' && source[keyEnd] != '\t') {
+                keyEnd++;
+            }
+
+            key = new String(source, start, keyEnd - start, StandardCharsets.UTF_8);
+        }
+
+        int separatorIndex = skipBlanks(source, keyEnd, end);
+
+        if (separatorIndex >= end || source[separatorIndex] != separator) {
+            return;
+        }
+
+        ConfigEntry entry = schema.getEntry(key);
+        int valueStart = skipBlanks(source, separatorIndex + 1, end);
+
+        if (entry == null || valueStart >= end || source[valueStart] == '#') {
+            return;
+        }
+
+        int valueEnd = findValueEnd(source, valueStart, end);
+
+        if (valueEnd < 0 || !isSingleLine(source, valueStart, valueEnd, lineEnd, separator)) {
+            return;
+        }
+
+        spans.set(entry.getIndex(), valueStart, valueEnd);
+    }
+
+    /**
+     * @return the end of the value without a trailing comment and blanks,
+     *         or {@code -1} if a string or collection is not closed on the line
+     */
+    private static int findValueEnd(byte[] source, int start, int end) {
+        int depth = 0;
+        byte quote = 0;
+        int valueEnd = start;
+
+        for (int i = start; i < end; i++) {
+            byte b = source[i];
+
+            if (quote != 0) {
+                if (b == '\\' && quote == '"') {
+                    i++;
+                } else if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '[' || b == '{') {
+                depth++;
+            } else if (b == ']' || b == '}') {
+                depth--;
+            } else if (b == '#' && i > start && (source[i - 1] == ' ' || source[i - 1] == '\t')) {
+                break;
+            }
+
+            if (b != ' ' && b != '\t') {
+                valueEnd = i + 1;
+            }
+        }
+
+        return quote == 0 && depth == 0 ? valueEnd : -1;
+    }
+
+    private static boolean isSingleLine(byte[] source, int start, int end, int lineEnd, char separator) {
+        byte first = source[start];
+
+        if (startsWith(source, start, end, "\"\"\"") || startsWith(source, start, end, "'''")) {
+            return false;
+        }
+
+        if (separator == ':') {
+            if (first == '|' || first == '>' || first == '&' || first == '*' || first == '!') {
+                return false;
+            }
+
+            // A plain YAML scalar may continue on more indented lines.
+            int next = lineEnd + 1;
+            return next >= source.length || source[next] != ' ' && source[next] != '\t';
+        }
+
+        return true;
+    }
+
+    private static int skipBlanks(byte[] source, int index, int end) {
+        while (index < end && (source[index] == ' ' || source[index] == '\t')) {
+            index++;
+        }
+
+        return index;
+    }
+
+    private static int indexOf(byte[] source, int from, int end, byte value) {
+        for (int i = from; i < end; i++) {
+            if (source[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] source, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (source[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Binary format handler based on Jackson Smile, for configurations that are produced and read by machines only.
+ */
+public class SmileConfigurationHandler extends JacksonFormatHandler {
+    public SmileConfigurationHandler() {
+        super(new SmileMapper(), "Smile");
+    }
+
+    /**
+     * @return the handler shared by the internal binary codecs (config sync, distribution and snapshot cache),
+     *         created when one of them first encodes or decodes a message
+     */
+    public static SmileConfigurationHandler getShared() {
+        return Shared.INSTANCE;
+    }
+
+    @Override
+    protected JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return mapper.createGenerator(out);
+    }
+
+    /**
+     * Decodes entries from a region of a larger buffer, e.g. the body of a file that starts with a header.
+     *
+     * @param source the buffer
+     * @param offset the start of the Smile document
+     * @param length the length of the Smile document
+     * @param schema the schema of the configuration class
+     * @return the decoded values
+     * @throws IOException if the content cannot be parsed
+     */
+    public ConfigValues read(byte[] source, int offset, int length, ConfigSchema schema) throws IOException {
+        try (JsonParser parser = mapper.createParser(source, offset, length)) {
+            return bind(parser, schema);
+        }
+    }
+
+    private static final class Shared {
+        private static final SmileConfigurationHandler INSTANCE = new SmileConfigurationHandler();
+    }
+}
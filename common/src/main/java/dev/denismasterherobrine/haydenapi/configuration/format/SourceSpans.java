@@ -0,0 +1,48 @@
+package dev.denismasterherobrine.haydenapi.configuration.format;
+
+import java.util.Arrays;
+
+/**
+ * Byte ranges of the values of top-level entries in a configuration file, indexed like the entries of the
+ * schema. Used to patch single values of a file in place instead of rewriting it.
+ */
+public final class SourceSpans {
+    private final int[] starts;
+    private final int[] ends;
+
+    public SourceSpans(int size) {
+        this.starts = new int[size];
+        this.ends = new int[size];
+        Arrays.fill(starts, -1);
+    }
+
+    /**
+     * @param index the entry index
+     * @param start the offset of the first byte of the value
+     * @param end   the offset after the last byte of the value
+     */
+    public void set(int index, int start, int end) {
+        starts[index] = start;
+        ends[index] = end;
+    }
+
+    /**
+     * @param index the entry index
+     * @return whether the value of the entry can be patched in place
+     */
+    public boolean has(int index) {
+        return starts[index] >= 0;
+    }
+
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    public int getEnd(int index) {
+        return ends[index];
+    }
+
+    public int size() {
+        return starts.length;
+    }
+}
@@ -1,62 +1,186 @@
 package dev.denismasterherobrine.haydenapi.configuration.format;
 
 import com.fasterxml.jackson.dataformat.toml.TomlMapper;
-import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
-import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+import dev.denismasterherobrine.haydenapi.configuration.collection.IntSet;
+import dev.denismasterherobrine.haydenapi.configuration.collection.LongSet;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
-
-public class TomlConfigurationHandler implements FormatHandler {
-    private final TomlMapper tomlMapper;
+import java.lang.reflect.Array;
+import java.util.Collection;
 
+public class TomlConfigurationHandler extends JacksonFormatHandler {
     public TomlConfigurationHandler() {
-        tomlMapper = new TomlMapper();
+        super(new TomlMapper(), "TOML");
     }
 
     @Override
-    public <T> T load(File file, Class<T> configClass) throws ConfigurationException {
-        try {
-            byte[] bytes = Files.readAllBytes(file.toPath());
-            Map<String, Object> map = tomlMapper.readValue(bytes, HashMap.class);
-            for (Field field : configClass.getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Entry.class)) {
-                    field.setAccessible(true);
-                    if (map.containsKey(field.getName())) {
-                        Object value = map.get(field.getName());
-                        Object converted = tomlMapper.convertValue(value, field.getType());
-                        field.set(null, converted);
+    public ConfigValues read(byte[] source, ConfigSchema schema) throws IOException {
+        return super.read(quoteLongIntegers(source), schema);
+    }
+
+    /**
+     * Jackson's TOML parser keeps only the last ten digits of integers with exactly 19 digits, such as most world
+     * seeds. Those literals are quoted before parsing, and Jackson coerces the strings back to exact numbers.
+     *
+     * @param source the TOML content
+     * @return the content with 19-digit integer values quoted, or the source itself if it has none
+     */
+    static byte[] quoteLongIntegers(byte[] source) {
+        ByteArrayOutputStream out = null;
+        int copied = 0;
+        int i = 0;
+
+        while (i < source.length) {
+            byte c = source[i];
+
+            if (c == '#') {
+                while (i < source.length && source[i] != '\n') {
+                    i++;
+                }
+                continue;
+            }
+
+            if (c == '"' || c == '\'') {
+                i = skipString(source, i);
+                continue;
+            }
+
+            boolean signed = (c == '-' || c == '+') && i + 1 < source.length && isDigit(source[i + 1]);
+
+            if (!signed && !isDigit(c)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            int end = signed ? i + 1 : i;
+            int digits = 0;
+
+            while (end < source.length && (isDigit(source[end]) || source[end] == '_')) {
+                digits += source[end] != '_' ? 1 : 0;
+                end++;
+            }
+
+            // Only whole integer values: not parts of bare keys, floats, dates or hexadecimal literals.
+            if (digits == 19 && (start == 0 || isValueStart(source[start - 1]))
+                    && (end == source.length || isValueEnd(source[end])) && !isKey(source, end)) {
+                if (out == null) {
+                    out = new ByteArrayOutputStream(source.length + 16);
+                }
+
+                out.write(source, copied, start - copied);
+                out.write('"');
+
+                for (int k = start; k < end; k++) {
+                    if (source[k] != '_') {
+                        out.write(source[k]);
                     }
                 }
+
+                out.write('"');
+                copied = end;
+            }
+
+            i = end;
+        }
+
+        if (out == null) {
+            return source;
+        }
+
+        out.write(source, copied, source.length - copied);
+        return out.toByteArray();
+    }
+
+    private static int skipString(byte[] source, int start) {
+        byte quote = source[start];
+        boolean multiline = start + 2 < source.length && source[start + 1] == quote && source[start + 2] == quote;
+        int i = start + (multiline ? 3 : 1);
+
+        while (i < source.length) {
+            byte c = source[i];
+
+            if (c == '\\' && quote == '"') {
+                i += 2;
+            } else if (c == quote && (!multiline
+                    || i + 2 < source.length && source[i + 1] == quote && source[i + 2] == quote)) {
+                return i + (multiline ? 3 : 1);
+            } else if (c == '\n' && !multiline) {
+                return i;
+            } else {
+                i++;
             }
-            return configClass.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new ConfigurationException("Error loading TOML file: " + file.getName(), e);
         }
+
+        return i;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isValueStart(byte c) {
+        return c == '=' || c == '[' || c == ',' || c == '{' || c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isValueEnd(byte c) {
+        return c == ',' || c == ']' || c == '}' || c == '#' || c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isKey(byte[] source, int end) {
+        int i = end;
+
+        while (i < source.length && (source[i] == ' ' || source[i] == '\t')) {
+            i++;
+        }
+
+        return i < source.length && (source[i] == '=' || source[i] == '.');
     }
 
     @Override
-    public <T> void save(File file, T config) throws ConfigurationException {
-        try {
-            Class<?> configClass = config.getClass();
-            Map<String, Object> map = new HashMap<>();
-            for (Field field : configClass.getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Entry.class)) {
-                    field.setAccessible(true);
-                    Object value = field.get(null);
-                    map.put(field.getName(), value);
+    public SourceSpans locate(byte[] source, ConfigSchema schema) {
+        return LineEntryScanner.scan(source, schema, '=');
+    }
+
+    @Override
+    public byte[] encodeInline(ConfigEntry entry, Object value) throws IOException {
+        return isInlineValue(value) ? encodeJson(value) : null;
+    }
+
+    /**
+     * @return whether the JSON encoding of the value is also valid TOML: tables and nulls are not
+     */
+    private static boolean isInlineValue(Object value) {
+        if (value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return true;
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            return Double.isFinite(((Number) value).doubleValue());
+        }
+
+        if (value instanceof Number || value instanceof IntSet || value instanceof LongSet) {
+            return true;
+        }
+
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().allMatch(TomlConfigurationHandler::isInlineValue);
+        }
+
+        if (value != null && value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (!isInlineValue(Array.get(value, i))) {
+                    return false;
                 }
             }
-            byte[] bytes = tomlMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(map);
-            Files.write(file.toPath(), bytes);
-        } catch (Exception e) {
-            throw new ConfigurationException("Error saving TOML file: " + file.getName(), e);
+
+            return true;
         }
+
+        return false;
     }
 }
-
@@ -0,0 +1,125 @@
+package dev.denismasterherobrine.haydenapi.configuration.group;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configurations stored in separate files that are reloaded together, because their settings only make sense
+ * in combination.
+ *
+ * <p>When any file of the group changes, the configuration manager waits for the debounce window so that a deploy
+ * rewriting several files causes a single reload, then parses every changed file before applying anything. If
+ * one file fails to parse or validate, every configuration of the group keeps its current values. Otherwise all
+ * files are applied in one step: record configurations are published as one {@link Snapshot}, static entries are
+ * assigned back to back without any parsing in between.</p>
+ *
+ * <p>Read {@link #getSnapshot()} once per operation to see the record configurations of the group from the same
+ * reload.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *   ConfigGroup economy = ConfigurationAPI.createConfigGroup("economy", Map.of(
+ *           "config/examplemod/prices.json5", PriceConfig.class,
+ *           "config/examplemod/shops.json5", ShopConfig.class));
+ *   ConfigGroup.Snapshot current = economy.getSnapshot();
+ *   current.get(PriceConfig.class);
+ *   current.get(ShopConfig.class);
+ * </pre>
+ * </p>
+ */
+public final class ConfigGroup {
+    private final String name;
+    private final Map<Class<?>, File> files;
+    private final AtomicReference<Snapshot> current;
+
+    /**
+     * @param name    the name of the group, used in log messages
+     * @param files   the file of every configuration of the group, keyed by configuration class
+     * @param configs the initial configurations keyed by class; for static entries, an instance of the class
+     */
+    public ConfigGroup(String name, Map<Class<?>, File> files, Map<Class<?>, Object> configs) {
+        this.name = name;
+        this.files = Collections.unmodifiableMap(new LinkedHashMap<>(files));
+        this.current = new AtomicReference<>(
+                new Snapshot(Collections.unmodifiableMap(new LinkedHashMap<>(configs)), 1));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the file of every configuration of the group, keyed by configuration class
+     */
+    public Map<Class<?>, File> getFiles() {
+        return files;
+    }
+
+    /**
+     * @param configClass the configuration class
+     * @return the current configuration; for static entries, an instance of the class
+     * @throws IllegalArgumentException if the class is not part of the group
+     */
+    public <T> T get(Class<T> configClass) {
+        return current.get().get(configClass);
+    }
+
+    /**
+     * @return the configurations of the group from the last reload
+     */
+    public Snapshot getSnapshot() {
+        return current.get();
+    }
+
+    public long getVersion() {
+        return current.get().version();
+    }
+
+    /**
+     * Replaces some configurations of the group with one atomic swap. The new values are not saved to the files.
+     *
+     * @param configs the new configurations keyed by class
+     * @return the published snapshot
+     * @throws IllegalArgumentException if a class is not part of the group
+     */
+    public Snapshot publish(Map<Class<?>, Object> configs) {
+        for (Class<?> configClass : configs.keySet()) {
+            if (!files.containsKey(configClass)) {
+                throw new IllegalArgumentException(configClass.getName()
+                        + " is not part of configuration group " + name);
+            }
+        }
+
+        return current.updateAndGet(previous -> {
+            Map<Class<?>, Object> updated = new LinkedHashMap<>(previous.configs());
+            updated.putAll(configs);
+            return new Snapshot(Collections.unmodifiableMap(updated), previous.version() + 1);
+        });
+    }
+
+    /**
+     * The configurations of a group at one point in time.
+     *
+     * @param configs the configurations keyed by class
+     * @param version the version, incremented on every publish
+     */
+    public record Snapshot(Map<Class<?>, Object> configs, long version) {
+        /**
+         * @param configClass the configuration class
+         * @return the configuration of the class in this snapshot
+         * @throws IllegalArgumentException if the class is not part of the group
+         */
+        public <T> T get(Class<T> configClass) {
+            Object config = configs.get(configClass);
+
+            if (config == null) {
+                throw new IllegalArgumentException(configClass.getName() + " is not part of this configuration group");
+            }
+
+            return configClass.cast(config);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.denismasterherobrine.haydenapi.configuration.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes files so that readers and crashes only ever observe the old or the new content.
+ *
+ * <p>The content goes to a temporary file next to the target, is forced to disk and then moved over the target
+ * with {@link StandardCopyOption#ATOMIC_MOVE}. Filesystems without atomic rename fall back to a plain replace.</p>
+ */
+public final class AtomicFileWriter {
+    private AtomicFileWriter() {}
+
+    /**
+     * Atomically replaces the target file with the given bytes.
+     *
+     * @param target the file to write
+     * @param bytes  the new content
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path target, byte[] bytes) throws IOException {
+        write(target, out -> out.write(bytes));
+    }
+
+    /**
+     * Atomically replaces the target file with the content produced by the writer.
+     *
+     * @param target the file to write
+     * @param writer produces the new content
+     * @throws IOException if the file cannot be written, or the writer fails
+     */
+    public static void write(Path target, ContentWriter writer) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path dir = absolute.getParent();
+        Path temp = dir.resolve("." + absolute.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel)) {
+                    @Override
+                    public void close() throws IOException {
+                        // Writers may close their stream, but the channel still has to be forced afterwards.
+                        flush();
+                    }
+                };
+                writer.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        syncDirectory(dir);
+    }
+
+    private static void syncDirectory(Path dir) {
+        // Persists the rename itself. Not every platform can open a directory, which only costs durability.
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Produces file content for {@link #write(Path, ContentWriter)}.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
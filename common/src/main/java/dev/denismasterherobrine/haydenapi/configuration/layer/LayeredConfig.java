@@ -0,0 +1,305 @@
+package dev.denismasterherobrine.haydenapi.configuration.layer;
+
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChange;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A configuration resolved from a stack of files on top of the built-in defaults, e.g. a global file and a
+ * per-world file that overrides some of its entries.
+ *
+ * <p>Each layer only needs to contain the entries it overrides; an entry takes its value from the topmost layer
+ * that contains it, or from the defaults. The merged result is kept resolved: a configuration with static entries
+ * has its fields assigned, a record configuration is published as a snapshot. Reads are therefore plain field
+ * accesses or a single {@link SnapshotConfig#get()}. When a layer changes, only the entries that layer contained
+ * before or after the change are resolved again.</p>
+ *
+ * <p>Layers are added and removed through the configuration manager, which loads and watches their files. Like
+ * every other hot reload, a changed layer file only updates the {@code @Reloadable} entries of its layer
+ * ({@link #reloadLayer(Path, ConfigValues)}); adding a layer takes all of its entries. Resolved values pass through
+ * an overlay before they are applied, which keeps the values received from a server in effect on a synced
+ * client.</p>
+ *
+ * @param <T> the configuration type
+ */
+public final class LayeredConfig<T> {
+    private final Class<T> configClass;
+    private final ConfigSchema schema;
+    private final T instance;
+    private final SnapshotConfig<?> snapshot;
+    private final ConfigValues defaults;
+    private final List<Layer> layers = new ArrayList<>();
+    private final Object[] merged;
+    private final Path[] sources;
+    private final UnaryOperator<ConfigValues> overlay;
+
+    /**
+     * @param configClass the configuration class
+     * @param defaults    a configuration holding the built-in defaults; for a class with static entries,
+     *                    the current values of its fields are the defaults
+     */
+    public LayeredConfig(Class<T> configClass, T defaults) {
+        this(configClass, defaults, UnaryOperator.identity());
+    }
+
+    /**
+     * @param configClass the configuration class
+     * @param defaults    a configuration holding the built-in defaults
+     * @param overlay     turns the resolved values into the values to apply, e.g.
+     *                    {@link dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync#overlayServerValues}
+     */
+    public LayeredConfig(Class<T> configClass, T defaults, UnaryOperator<ConfigValues> overlay) {
+        this.configClass = configClass;
+        this.overlay = overlay;
+        this.schema = ConfigSchema.of(configClass);
+        this.defaults = ConfigValues.capture(schema, defaults);
+        this.merged = new Object[schema.getEntries().size()];
+        this.sources = new Path[merged.length];
+
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = this.defaults.get(i);
+        }
+
+        if (schema.isRecord()) {
+            this.instance = null;
+            this.snapshot = createSnapshot(configClass.asSubclass(Record.class), defaults);
+        } else {
+            this.instance = defaults;
+            this.snapshot = null;
+        }
+    }
+
+    private static <R extends Record> SnapshotConfig<R> createSnapshot(Class<R> recordClass, Object initial) {
+        return new SnapshotConfig<>(recordClass, recordClass.cast(initial));
+    }
+
+    public Class<T> getConfigClass() {
+        return configClass;
+    }
+
+    /**
+     * @return the merged configuration; for a record, the current snapshot
+     */
+    public T get() {
+        return instance != null ? instance : configClass.cast(snapshot.get());
+    }
+
+    /**
+     * @return the snapshot handle of a record configuration, or {@code null} for a class with static entries
+     */
+    public SnapshotConfig<?> getSnapshotConfig() {
+        return snapshot;
+    }
+
+    /**
+     * @return the files of the layers, from lowest to highest precedence
+     */
+    public synchronized List<Path> getLayers() {
+        List<Path> paths = new ArrayList<>(layers.size());
+
+        for (Layer layer : layers) {
+            paths.add(layer.path());
+        }
+
+        return Collections.unmodifiableList(paths);
+    }
+
+    /**
+     * @param key the entry name
+     * @return the file of the layer the merged value of the entry comes from, or {@code null} for the default
+     * @throws IllegalArgumentException if the class declares no entry with that name
+     */
+    public synchronized Path getSource(String key) {
+        ConfigEntry entry = schema.getEntry(key);
+
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown entry " + key + " of " + configClass.getName());
+        }
+
+        return sources[entry.getIndex()];
+    }
+
+    /**
+     * Replaces the values of a layer, or adds it on top of all layers if the file is not a layer yet.
+     * The file itself is not read or written.
+     *
+     * @param path   the file of the layer
+     * @param values the entries of the layer, entries it does not override are absent
+     * @return the entries whose merged value changed, keyed by entry name
+     * @throws RuntimeException if a derived value cannot be computed; the layer is left unchanged
+     */
+    public synchronized Map<String, ConfigChange> putLayer(Path path, ConfigValues values) {
+        for (int i = 0; i < layers.size(); i++) {
+            Layer layer = layers.get(i);
+
+            if (layer.path().equals(path)) {
+                layers.set(i, new Layer(path, values));
+
+                try {
+                    return resolve(layer.values(), values);
+                } catch (RuntimeException e) {
+                    layers.set(i, layer);
+                    throw e;
+                }
+            }
+        }
+
+        layers.add(new Layer(path, values));
+
+        try {
+            return resolve(null, values);
+        } catch (RuntimeException e) {
+            layers.remove(layers.size() - 1);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the {@code @Reloadable} entries of a layer after its file changed. The other entries keep the values
+     * the layer had when it was added, until the next start.
+     *
+     * @param path   the file of the layer
+     * @param values the entries read from the file, absent for a deleted file
+     * @return the entries whose merged value changed, keyed by entry name
+     * @throws RuntimeException if a derived value cannot be computed; the layer is left unchanged
+     */
+    public synchronized Map<String, ConfigChange> reloadLayer(Path path, ConfigValues values) {
+        ConfigValues reloaded = values.reloadableOnly();
+
+        for (Layer layer : layers) {
+            if (layer.path().equals(path)) {
+                for (ConfigEntry entry : schema.getEntries()) {
+                    int index = entry.getIndex();
+
+                    if (!entry.isReloadable() && layer.values().isPresent(index)) {
+                        reloaded.set(index, layer.values().get(index));
+                    }
+                }
+            }
+        }
+
+        return putLayer(path, reloaded);
+    }
+
+    /**
+     * Removes a layer; entries it overrode fall back to the layers below.
+     *
+     * @param path the file of the layer
+     * @return the entries whose merged value changed, keyed by entry name
+     */
+    public synchronized Map<String, ConfigChange> removeLayer(Path path) {
+        for (int i = 0; i < layers.size(); i++) {
+            if (layers.get(i).path().equals(path)) {
+                return resolve(layers.remove(i).values(), null);
+            }
+        }
+
+        return Map.of();
+    }
+
+    private Map<String, ConfigChange> resolve(ConfigValues previous, ConfigValues current) {
+        Map<String, ConfigChange> changes = new LinkedHashMap<>();
+        ConfigValues resolved = new ConfigValues(schema);
+        Path[] resolvedSources = new Path[sources.length];
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+
+            // Only entries the changed layer contains, before or after the change, can resolve differently.
+            if (!isPresent(previous, index) && !isPresent(current, index)) {
+                continue;
+            }
+
+            Object value = defaults.get(index);
+            Path source = null;
+
+            for (int i = layers.size() - 1; i >= 0; i--) {
+                Layer layer = layers.get(i);
+
+                if (layer.values().isPresent(index)) {
+                    value = layer.values().get(index);
+                    source = layer.path();
+                    break;
+                }
+            }
+
+            resolvedSources[index] = source;
+            Object oldValue = merged[index];
+
+            if (!Objects.deepEquals(oldValue, value)) {
+                resolved.set(index, value);
+                changes.put(entry.getName(), new ConfigChange(entry.getName(), oldValue, value));
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            ConfigValues applied = apply(resolved);
+
+            // An entry the overlay replaced kept the value it had, so it did not change.
+            changes.values().removeIf(change -> {
+                int index = schema.getEntry(change.key()).getIndex();
+                return !Objects.deepEquals(applied.get(index), resolved.get(index));
+            });
+        }
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+
+            if (isPresent(previous, index) || isPresent(current, index)) {
+                sources[index] = resolvedSources[index];
+            }
+
+            if (resolved.isPresent(index)) {
+                merged[index] = resolved.get(index);
+            }
+        }
+
+        return changes;
+    }
+
+    private static boolean isPresent(ConfigValues values, int index) {
+        return values != null && values.isPresent(index);
+    }
+
+    /**
+     * Applies the changed entries through the overlay. Nothing is changed if this fails, e.g. because a derived
+     * value cannot be computed.
+     *
+     * @return the values that were applied
+     */
+    private ConfigValues apply(ConfigValues changed) {
+        if (snapshot == null) {
+            ConfigValues values = overlay.apply(changed);
+            values.apply();
+            return values;
+        }
+
+        ConfigValues values = new ConfigValues(schema);
+
+        for (int i = 0; i < merged.length; i++) {
+            values.set(i, changed.isPresent(i) ? changed.get(i) : merged[i]);
+        }
+
+        ConfigValues applied = overlay.apply(values);
+        publish(snapshot, applied);
+        return applied;
+    }
+
+    private static <R extends Record> void publish(SnapshotConfig<R> snapshot, ConfigValues values) {
+        snapshot.publish(snapshot.getConfigClass().cast(values.toRecord(snapshot.get())));
+    }
+
+    private record Layer(Path path, ConfigValues values) {
+    }
+}
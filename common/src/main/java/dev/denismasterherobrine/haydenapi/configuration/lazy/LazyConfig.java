@@ -0,0 +1,102 @@
+package dev.denismasterherobrine.haydenapi.configuration.lazy;
+
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * A configuration that is registered up front but only parsed when it is first needed.
+ *
+ * <p>The file is loaded by the first call to {@link #get()} or {@link #load()}, or earlier by the background
+ * preload HaydenAPI starts once the game has finished starting, whichever comes first. The file is loaded exactly
+ * once; a reader that arrives while the background load is running waits for it. Everything the load wrote,
+ * including the static fields of a configuration class, happens-before {@link #get()} returns, so read the
+ * configuration through {@link #get()} (or call it once before reading static entries on a new thread).</p>
+ *
+ * <p>Once loaded, the configuration is watched and hot-reloaded like one created with
+ * {@code ConfigurationAPI.createConfig}. Record configurations are loaded in snapshot mode and {@link #get()}
+ * returns the current snapshot.</p>
+ *
+ * @param <T> the configuration type
+ */
+public final class LazyConfig<T> {
+    private final Class<T> configClass;
+    private final File file;
+    private final Loader<T> loader;
+    private volatile Supplier<T> current;
+
+    /**
+     * @param configClass the configuration class
+     * @param file        the configuration file
+     * @param loader      loads the file and returns an accessor of the loaded configuration
+     */
+    public LazyConfig(Class<T> configClass, File file, Loader<T> loader) {
+        this.configClass = configClass;
+        this.file = file;
+        this.loader = loader;
+    }
+
+    public Class<T> getConfigClass() {
+        return configClass;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return whether the configuration file has been loaded
+     */
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    /**
+     * Returns the configuration, loading it on first access.
+     *
+     * @return the configuration; for a record, the current snapshot
+     * @throws IllegalStateException if the configuration cannot be loaded; the next access tries again
+     */
+    public T get() {
+        Supplier<T> value = current;
+
+        if (value != null) {
+            return value.get();
+        }
+
+        try {
+            return load();
+        } catch (ConfigurationException e) {
+            throw new IllegalStateException("Error loading configuration " + file, e);
+        }
+    }
+
+    /**
+     * Loads the configuration if it has not been loaded yet.
+     *
+     * @return the configuration
+     * @throws ConfigurationException if the configuration cannot be loaded
+     */
+    public T load() throws ConfigurationException {
+        Supplier<T> value = current;
+
+        if (value == null) {
+            synchronized (this) {
+                value = current;
+
+                if (value == null) {
+                    value = loader.load();
+                    current = value;
+                }
+            }
+        }
+
+        return value.get();
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        Supplier<T> load() throws ConfigurationException;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.listener;
+
+/**
+ * A change of one configuration entry.
+ *
+ * @param key      the name of the entry
+ * @param oldValue the value before the change
+ * @param newValue the value after the change
+ */
+public record ConfigChange(String key, Object oldValue, Object newValue) {
+}
@@ -0,0 +1,24 @@
+package dev.denismasterherobrine.haydenapi.configuration.listener;
+
+import java.util.Map;
+
+/**
+ * The entries of a configuration that changed in one load or reload. Only the entries a listener
+ * subscribed to are included.
+ *
+ * @param configClass the configuration class
+ * @param changes     the changed entries keyed by entry name, in declaration order
+ */
+public record ConfigChangeEvent(Class<?> configClass, Map<String, ConfigChange> changes) {
+    public boolean hasChanged(String key) {
+        return changes.containsKey(key);
+    }
+
+    /**
+     * @param key the name of the entry
+     * @return the change of the entry, or {@code null} if it did not change
+     */
+    public ConfigChange getChange(String key) {
+        return changes.get(key);
+    }
+}
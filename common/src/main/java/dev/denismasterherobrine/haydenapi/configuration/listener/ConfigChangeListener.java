@@ -0,0 +1,10 @@
+package dev.denismasterherobrine.haydenapi.configuration.listener;
+
+/**
+ * Receives the changes of configuration entries. Listeners are invoked on the game thread,
+ * see {@link MainThreadExecutor}.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    void onChange(ConfigChangeEvent event);
+}
@@ -0,0 +1,165 @@
+package dev.denismasterherobrine.haydenapi.configuration.listener;
+
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Subscriptions to the changes of configuration entries.
+ *
+ * <p>When a configuration is loaded or reloaded, its values before and after are compared entry by entry,
+ * and every subscriber receives the changes of the entries it subscribed to. Subscribers are invoked
+ * through the {@link MainThreadExecutor}, never on the watcher thread.</p>
+ */
+public final class ConfigListeners {
+    private static final Logger LOGGER = Logger.getLogger(ConfigListeners.class.getName());
+
+    private final Map<Class<?>, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public ConfigListeners(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to changes of some entries of a configuration.
+     *
+     * @param configClass the configuration class
+     * @param keys        the names of the entries to receive changes of, empty for all entries
+     * @param listener    the listener
+     * @return the subscription, cancel it to stop receiving changes
+     * @throws IllegalArgumentException if a key is not an entry of the configuration class
+     */
+    public Subscription subscribe(Class<?> configClass, Collection<String> keys, ConfigChangeListener listener) {
+        ConfigSchema schema = ConfigSchema.of(configClass);
+
+        for (String key : keys) {
+            if (schema.getEntry(key) == null) {
+                throw new IllegalArgumentException("Configuration " + configClass.getName() + " has no entry " + key);
+            }
+        }
+
+        Subscriber subscriber = new Subscriber(keys.isEmpty() ? null : Set.copyOf(keys), listener);
+        List<Subscriber> list = subscribers.computeIfAbsent(configClass, ignored -> new CopyOnWriteArrayList<>());
+        list.add(subscriber);
+
+        return () -> list.remove(subscriber);
+    }
+
+    public boolean hasSubscribers(Class<?> configClass) {
+        List<Subscriber> list = subscribers.get(configClass);
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * Compares the values a configuration with static entries had before a load with its current values
+     * and notifies the subscribers of the changed entries.
+     *
+     * @param before the values captured before the load
+     * @return the changed entries keyed by entry name
+     */
+    public Map<String, ConfigChange> publish(ConfigValues before) {
+        return publish(before, ConfigValues.capture(before.getSchema()));
+    }
+
+    /**
+     * Compares the values of a configuration before and after a load
+     * and notifies the subscribers of the changed entries.
+     *
+     * @param before the values captured before the load
+     * @param after  the values captured after the load
+     * @return the changed entries keyed by entry name
+     */
+    public Map<String, ConfigChange> publish(ConfigValues before, ConfigValues after) {
+        ConfigSchema schema = before.getSchema();
+        Map<String, ConfigChange> changes = new LinkedHashMap<>();
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            Object oldValue = before.get(entry.getIndex());
+            Object newValue = after.get(entry.getIndex());
+
+            if (!Objects.deepEquals(oldValue, newValue)) {
+                changes.put(entry.getName(), new ConfigChange(entry.getName(), oldValue, newValue));
+            }
+        }
+
+        return publish(schema.getConfigClass(), changes);
+    }
+
+    /**
+     * Notifies the subscribers of already computed changes.
+     *
+     * @param configClass the configuration class
+     * @param changes     the changed entries keyed by entry name
+     * @return the given changes
+     */
+    public Map<String, ConfigChange> publish(Class<?> configClass, Map<String, ConfigChange> changes) {
+        if (!changes.isEmpty()) {
+            for (Subscriber subscriber : subscribers.getOrDefault(configClass, List.of())) {
+                subscriber.notify(configClass, changes);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * A subscription to configuration changes.
+     */
+    @FunctionalInterface
+    public interface Subscription {
+        void unsubscribe();
+    }
+
+    private final class Subscriber {
+        private final Set<String> keys;
+        private final ConfigChangeListener listener;
+
+        Subscriber(Set<String> keys, ConfigChangeListener listener) {
+            this.keys = keys;
+            this.listener = listener;
+        }
+
+        void notify(Class<?> configClass, Map<String, ConfigChange> changes) {
+            Map<String, ConfigChange> subscribed = changes;
+
+            if (keys != null) {
+                subscribed = new LinkedHashMap<>();
+
+                for (ConfigChange change : changes.values()) {
+                    if (keys.contains(change.key())) {
+                        subscribed.put(change.key(), change);
+                    }
+                }
+
+                if (subscribed.isEmpty()) {
+                    return;
+                }
+            }
+
+            ConfigChangeEvent event = new ConfigChangeEvent(configClass, Collections.unmodifiableMap(subscribed));
+
+            executor.execute(() -> {
+                try {
+                    listener.onChange(event);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error in change listener of configuration "
+                            + configClass.getName() + ": " + e.getMessage(), e);
+                }
+            });
+        }
+    }
+}
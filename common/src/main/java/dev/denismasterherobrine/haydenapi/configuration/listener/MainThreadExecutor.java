@@ -0,0 +1,51 @@
+package dev.denismasterherobrine.haydenapi.configuration.listener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks on the game thread. The platform entrypoints install the executors of the running server
+ * and client; the server thread is preferred while a server (dedicated or integrated) is running.
+ *
+ * <p>Before any executor is installed, e.g. during mod loading, tasks run directly on the calling thread.</p>
+ */
+public final class MainThreadExecutor implements Executor {
+    private static final MainThreadExecutor INSTANCE = new MainThreadExecutor();
+
+    private volatile Executor serverExecutor;
+    private volatile Executor clientExecutor;
+
+    private MainThreadExecutor() {}
+
+    public static MainThreadExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param executor the executor of the running server, or {@code null} once it stopped
+     */
+    public void setServerExecutor(Executor executor) {
+        serverExecutor = executor;
+    }
+
+    /**
+     * @param executor the executor of the client, or {@code null} once it stopped
+     */
+    public void setClientExecutor(Executor executor) {
+        clientExecutor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Executor executor = serverExecutor;
+
+        if (executor == null) {
+            executor = clientExecutor;
+        }
+
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+}
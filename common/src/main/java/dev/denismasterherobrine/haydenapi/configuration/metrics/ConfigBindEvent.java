@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("haydenapi.ConfigBind")
+@Label("Config Bind")
+@Description("Assigning decoded values to configuration entries")
+final class ConfigBindEvent extends ConfigEvent {
+}
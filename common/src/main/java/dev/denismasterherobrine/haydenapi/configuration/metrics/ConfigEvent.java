@@ -0,0 +1,24 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the JFR events HaydenAPI emits for configuration files.
+ */
+@Category({"HaydenAPI", "Configuration"})
+@StackTrace(false)
+abstract class ConfigEvent extends Event {
+    @Label("File")
+    String file;
+
+    @Label("Format")
+    String format;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
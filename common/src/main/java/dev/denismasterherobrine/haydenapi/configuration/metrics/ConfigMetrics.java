@@ -0,0 +1,95 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects load, save and reload statistics per configuration file.
+ * Recording is lock-free, so it is safe to call from the loader pool, the writer and the watcher threads.
+ */
+public final class ConfigMetrics {
+    private final Map<Path, Counters> counters = new ConcurrentHashMap<>();
+
+    public void recordLoad(Path file, long readNanos, long parseNanos, long bindNanos, long bytes, boolean cached) {
+        Counters c = getCounters(file);
+        c.loads.increment();
+
+        if (cached) {
+            c.snapshotHits.increment();
+        }
+
+        c.lastReadNanos = readNanos;
+        c.lastParseNanos = parseNanos;
+        c.lastBindNanos = bindNanos;
+        c.lastBytes = bytes;
+    }
+
+    public void recordSave(Path file, long nanos, long bytes) {
+        Counters c = getCounters(file);
+        c.saves.increment();
+        c.lastSaveNanos = nanos;
+        c.lastBytes = bytes;
+    }
+
+    public void recordReload(Path file, long nanos, long bytes) {
+        Counters c = getCounters(file);
+        c.reloads.increment();
+        c.lastReloadNanos = nanos;
+        c.lastBytes = bytes;
+    }
+
+    public void recordSkippedReload(Path file) {
+        getCounters(file).skippedReloads.increment();
+    }
+
+    public void recordFailedReload(Path file) {
+        getCounters(file).failedReloads.increment();
+    }
+
+    /**
+     * @param file the absolute, normalized path of the configuration file
+     * @return the statistics of the file, or {@code null} if nothing was recorded for it
+     */
+    public ConfigStats get(Path file) {
+        Counters c = counters.get(file);
+        return c == null ? null : c.snapshot(file);
+    }
+
+    /**
+     * @return the statistics of all configuration files, keyed by absolute path
+     */
+    public Map<Path, ConfigStats> getAll() {
+        Map<Path, ConfigStats> stats = new LinkedHashMap<>();
+        counters.forEach((file, c) -> stats.put(file, c.snapshot(file)));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private Counters getCounters(Path file) {
+        return counters.computeIfAbsent(file, ignored -> new Counters());
+    }
+
+    private static final class Counters {
+        final LongAdder loads = new LongAdder();
+        final LongAdder snapshotHits = new LongAdder();
+        final LongAdder saves = new LongAdder();
+        final LongAdder reloads = new LongAdder();
+        final LongAdder skippedReloads = new LongAdder();
+        final LongAdder failedReloads = new LongAdder();
+        volatile long lastReadNanos;
+        volatile long lastParseNanos;
+        volatile long lastBindNanos;
+        volatile long lastSaveNanos;
+        volatile long lastReloadNanos;
+        volatile long lastBytes;
+
+        ConfigStats snapshot(Path file) {
+            return new ConfigStats(file, loads.sum(), snapshotHits.sum(), saves.sum(), reloads.sum(),
+                    skippedReloads.sum(), failedReloads.sum(), lastReadNanos, lastParseNanos, lastBindNanos,
+                    lastSaveNanos, lastReloadNanos, lastBytes);
+        }
+    }
+}
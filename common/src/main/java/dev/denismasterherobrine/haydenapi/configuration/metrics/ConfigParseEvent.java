@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("haydenapi.ConfigParse")
+@Label("Config Parse")
+@Description("Decoding configuration file content into entry values")
+final class ConfigParseEvent extends ConfigEvent {
+}
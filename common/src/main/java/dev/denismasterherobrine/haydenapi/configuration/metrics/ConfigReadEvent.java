@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("haydenapi.ConfigRead")
+@Label("Config Read")
+@Description("Reading a configuration file or its snapshot from disk")
+final class ConfigReadEvent extends ConfigEvent {
+}
@@ -0,0 +1,17 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("haydenapi.ConfigReload")
+@Label("Config Reload")
+@Description("Hot reload of a changed configuration file")
+final class ConfigReloadEvent extends ConfigEvent {
+    @Label("Changed")
+    @Description("Whether the file content changed and was applied")
+    boolean changed;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
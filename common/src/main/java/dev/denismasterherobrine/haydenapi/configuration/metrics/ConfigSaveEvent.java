@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("haydenapi.ConfigSave")
+@Label("Config Save")
+@Description("Encoding and writing a configuration file")
+final class ConfigSaveEvent extends ConfigEvent {
+}
@@ -0,0 +1,26 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+import java.nio.file.Path;
+
+/**
+ * Point-in-time statistics of one configuration file. Durations are in nanoseconds
+ * and are {@code 0} until the corresponding operation happened at least once.
+ *
+ * @param file            the absolute path of the configuration file
+ * @param loads           the number of completed loads
+ * @param snapshotHits    the number of loads served by the binary snapshot cache
+ * @param saves           the number of completed saves
+ * @param reloads         the number of reloads that applied a changed file
+ * @param skippedReloads  the number of reloads skipped because the file was unchanged
+ * @param failedReloads   the number of reloads that failed
+ * @param lastReadNanos   the time the last load spent reading the file or snapshot
+ * @param lastParseNanos  the time the last load spent parsing, {@code 0} if it was served by the snapshot cache
+ * @param lastBindNanos   the time the last load spent binding values to the configuration class
+ * @param lastSaveNanos   the duration of the last save
+ * @param lastReloadNanos the duration of the last reload that applied a changed file
+ * @param lastBytes       the size of the file at the last load, save or reload
+ */
+public record ConfigStats(Path file, long loads, long snapshotHits, long saves, long reloads, long skippedReloads,
+                          long failedReloads, long lastReadNanos, long lastParseNanos, long lastBindNanos,
+                          long lastSaveNanos, long lastReloadNanos, long lastBytes) {
+}
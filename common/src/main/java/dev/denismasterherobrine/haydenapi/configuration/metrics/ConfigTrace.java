@@ -0,0 +1,103 @@
+package dev.denismasterherobrine.haydenapi.configuration.metrics;
+
+/**
+ * Times one phase of loading, saving or reloading a configuration file and reports it as a JFR event.
+ *
+ * <p>JFR events are only created if the {@code jdk.jfr} module is present, so HaydenAPI also runs on trimmed
+ * runtimes, and once the flight recorder has been started. Initializing the event classes costs a few hundred
+ * milliseconds, which a launch without recording should not pay. The measured duration is returned for the
+ * {@link ConfigMetrics} registry either way.</p>
+ */
+public final class ConfigTrace {
+    private static final boolean JFR_AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private final long start = System.nanoTime();
+    private final Object event;
+
+    private ConfigTrace(Phase phase) {
+        this.event = JFR_AVAILABLE && Recorder.isStarted() ? Events.begin(phase) : null;
+    }
+
+    public static ConfigTrace begin(Phase phase) {
+        return new ConfigTrace(phase);
+    }
+
+    /**
+     * Ends the phase.
+     *
+     * @param file   the configuration file
+     * @param format the file format
+     * @param bytes  the number of bytes read or written
+     * @return the duration of the phase in nanoseconds
+     */
+    public long end(String file, String format, long bytes) {
+        long duration = System.nanoTime() - start;
+
+        if (event != null) {
+            Events.commit(event, file, format, bytes);
+        }
+
+        return duration;
+    }
+
+    /**
+     * Ends a reload.
+     *
+     * @param file      the configuration file
+     * @param format    the file format
+     * @param bytes     the number of bytes read
+     * @param changed   whether the file changed and was reloaded
+     * @param succeeded whether the reload succeeded
+     * @return the duration of the reload in nanoseconds
+     */
+    public long endReload(String file, String format, long bytes, boolean changed, boolean succeeded) {
+        if (event instanceof ConfigReloadEvent reloadEvent) {
+            reloadEvent.changed = changed;
+            reloadEvent.succeeded = succeeded;
+        }
+
+        return end(file, format, bytes);
+    }
+
+    public enum Phase {
+        READ, PARSE, BIND, SAVE, RELOAD
+    }
+
+    /**
+     * Checks for the flight recorder without loading the event classes, which verifying {@link Events} would.
+     */
+    private static final class Recorder {
+        static boolean isStarted() {
+            return jdk.jfr.FlightRecorder.isInitialized();
+        }
+    }
+
+    /**
+     * Keeps all references to {@code jdk.jfr} types out of {@link ConfigTrace} itself.
+     */
+    private static final class Events {
+        static Object begin(Phase phase) {
+            ConfigEvent event = switch (phase) {
+                case READ -> new ConfigReadEvent();
+                case PARSE -> new ConfigParseEvent();
+                case BIND -> new ConfigBindEvent();
+                case SAVE -> new ConfigSaveEvent();
+                case RELOAD -> new ConfigReloadEvent();
+            };
+            event.begin();
+            return event;
+        }
+
+        static void commit(Object event, String file, String format, long bytes) {
+            ConfigEvent configEvent = (ConfigEvent) event;
+            configEvent.end();
+
+            if (configEvent.shouldCommit()) {
+                configEvent.file = file;
+                configEvent.format = format;
+                configEvent.bytes = bytes;
+                configEvent.commit();
+            }
+        }
+    }
+}
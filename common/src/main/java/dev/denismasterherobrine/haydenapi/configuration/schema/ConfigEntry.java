@@ -0,0 +1,122 @@
+package dev.denismasterherobrine.haydenapi.configuration.schema;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Type;
+
+/**
+ * A single {@code @Entry} of a configuration class, or a component of a record configuration.
+ * The field is resolved once when the owning {@link ConfigSchema} is built, reads and writes
+ * go through pre-compiled method handles afterwards.
+ */
+public final class ConfigEntry {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final String name;
+    private final int index;
+    private final Class<?> type;
+    private final Type genericType;
+    private final String comment;
+    private final boolean reloadable;
+    private final boolean component;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * @param getter the static field getter, or the record component accessor taking the record instance
+     * @param setter the static field setter, or {@code null} for final fields and record components
+     */
+    ConfigEntry(String name, int index, Class<?> type, Type genericType, String comment, boolean reloadable,
+                MethodHandle getter, MethodHandle setter) {
+        this.name = name;
+        this.index = index;
+        this.type = type;
+        this.genericType = genericType;
+        this.comment = comment;
+        this.reloadable = reloadable;
+        this.component = getter.type().parameterCount() == 1;
+        // Static getters ignore the instance argument, so both kinds of entries share one invocation type.
+        this.getter = (component ? getter : MethodHandles.dropArguments(getter, 0, Object.class)).asType(GETTER_TYPE);
+        this.setter = setter == null ? null : setter.asType(SETTER_TYPE);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the position of this entry in {@link ConfigSchema#getEntries()}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Type getGenericType() {
+        return genericType;
+    }
+
+    /**
+     * @return the {@code @Comment} text, or {@code null} if the entry has none
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    public boolean isReloadable() {
+        return reloadable;
+    }
+
+    /**
+     * @return whether this entry is a component of a record configuration rather than a static field
+     */
+    public boolean isComponent() {
+        return component;
+    }
+
+    /**
+     * @return the current value of the static field
+     * @throws UnsupportedOperationException if this entry is a record component
+     */
+    public Object get() {
+        if (component) {
+            throw new UnsupportedOperationException("Entry " + name + " is a record component and has no static value");
+        }
+
+        return get(null);
+    }
+
+    /**
+     * @param config the configuration instance, only used by record components
+     * @return the value of the entry in the given configuration
+     */
+    public Object get(Object config) {
+        try {
+            return (Object) getter.invokeExact(config);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error reading entry " + name, t);
+        }
+    }
+
+    public void set(Object value) {
+        if (setter == null) {
+            throw new UnsupportedOperationException("Entry " + name + (component ? " is a record component" : " is final")
+                    + " and cannot be assigned");
+        }
+
+        try {
+            setter.invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error writing entry " + name, t);
+        }
+    }
+}
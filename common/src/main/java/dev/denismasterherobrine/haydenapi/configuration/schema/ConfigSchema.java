@@ -0,0 +1,383 @@
+package dev.denismasterherobrine.haydenapi.configuration.schema;
+
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Comment;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Derived;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Entry;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Reloadable;
+import dev.denismasterherobrine.haydenapi.configuration.annotation.Section;
+import dev.denismasterherobrine.haydenapi.configuration.section.ConfigSection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The resolved structure of a {@code @Config} class: its static {@code @Entry} fields, their types,
+ * comments and reload flags. For a {@code @Config} record, every record component is an entry and
+ * {@code @Comment} and {@code @Reloadable} are read from the components. Static {@link ConfigSection} fields
+ * are the sections of the class, which are stored in files of their own, and static {@code @Derived} fields
+ * hold values computed from entries.
+ *
+ * <p>Schemas are built once per class and cached, so format handlers and the configuration manager
+ * never have to scan the class with reflection again after the first load or save.</p>
+ */
+public final class ConfigSchema {
+    private static final ClassValue<ConfigSchema> CACHE = new ClassValue<>() {
+        @Override
+        protected ConfigSchema computeValue(Class<?> type) {
+            return new ConfigSchema(type);
+        }
+    };
+
+    private final Class<?> configClass;
+    private final List<ConfigEntry> entries;
+    private final Map<String, ConfigEntry> entriesByName;
+    private final boolean hasReloadableEntries;
+    private final long fingerprint;
+    private final MethodHandle recordConstructor;
+    private final Map<String, ConfigSection<?>> sections;
+    private final List<DerivedValue> derivedValues;
+
+    private ConfigSchema(Class<?> configClass) {
+        this.configClass = configClass;
+
+        List<ConfigEntry> entries = new ArrayList<>();
+        Map<String, ConfigEntry> entriesByName = new HashMap<>();
+        boolean hasReloadableEntries = false;
+
+        if (configClass.isRecord()) {
+            for (RecordComponent component : configClass.getRecordComponents()) {
+                entries.add(createEntry(component, entries.size()));
+            }
+        } else {
+            for (Field field : configClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Entry.class)) {
+                    entries.add(createEntry(field, entries.size()));
+                }
+            }
+        }
+
+        for (ConfigEntry entry : entries) {
+            entriesByName.put(entry.getName(), entry);
+            hasReloadableEntries |= entry.isReloadable();
+        }
+
+        this.recordConstructor = configClass.isRecord() ? createRecordConstructor(configClass) : null;
+        this.sections = Collections.unmodifiableMap(findSections(configClass));
+        this.derivedValues = configClass.isRecord() ? List.of() : findDerivedValues(configClass, entriesByName);
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByName = entriesByName;
+        this.hasReloadableEntries = hasReloadableEntries;
+        this.fingerprint = computeFingerprint(configClass, entries);
+    }
+
+    /**
+     * Returns the cached schema of the given configuration class, building it on first use.
+     *
+     * @param configClass the configuration class
+     * @return the schema of the class
+     * @throws IllegalStateException if an entry field cannot be made accessible
+     */
+    public static ConfigSchema of(Class<?> configClass) {
+        return CACHE.get(configClass);
+    }
+
+    private static ConfigEntry createEntry(Field field, int index) {
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflectGetter(field);
+            MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+            Comment comment = field.getAnnotation(Comment.class);
+
+            return new ConfigEntry(field.getName(), index, field.getType(), field.getGenericType(),
+                    comment != null ? comment.value() : null, field.isAnnotationPresent(Reloadable.class),
+                    getter, setter);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Error resolving entry " + field.getName() + " of "
+                    + field.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static ConfigEntry createEntry(RecordComponent component, int index) {
+        try {
+            // Annotations targeting fields are propagated to the private field backing the component.
+            Field field = component.getDeclaringRecord().getDeclaredField(component.getName());
+            Method accessor = component.getAccessor();
+            accessor.setAccessible(true);
+            Comment comment = field.getAnnotation(Comment.class);
+
+            return new ConfigEntry(component.getName(), index, component.getType(), component.getGenericType(),
+                    comment != null ? comment.value() : null, field.isAnnotationPresent(Reloadable.class),
+                    MethodHandles.lookup().unreflect(accessor), null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Error resolving component " + component.getName() + " of "
+                    + component.getDeclaringRecord().getName(), e);
+        }
+    }
+
+    private static Map<String, ConfigSection<?>> findSections(Class<?> configClass) {
+        Map<String, ConfigSection<?>> sections = new LinkedHashMap<>();
+
+        for (Field field : configClass.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+
+            if (!Modifier.isStatic(modifiers) || field.getType() != ConfigSection.class) {
+                continue;
+            }
+
+            Section annotation = field.getAnnotation(Section.class);
+            String name = annotation != null ? annotation.value() : field.getName();
+
+            try {
+                if (!Modifier.isFinal(modifiers)) {
+                    throw new IllegalStateException("must be final");
+                }
+
+                field.setAccessible(true);
+                ConfigSection<?> section = (ConfigSection<?>) field.get(null);
+
+                if (section == null) {
+                    throw new IllegalStateException("must be initialized");
+                }
+
+                if (sections.put(name, section) != null) {
+                    throw new IllegalStateException("duplicate section name " + name);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException("Error resolving section " + field.getName() + " of "
+                        + configClass.getName() + ": " + e.getMessage(), e);
+            }
+        }
+
+        return sections;
+    }
+
+    private static List<DerivedValue> findDerivedValues(Class<?> configClass, Map<String, ConfigEntry> entries) {
+        List<DerivedValue> derivedValues = new ArrayList<>();
+
+        for (Field field : configClass.getDeclaredFields()) {
+            Derived derived = field.getAnnotation(Derived.class);
+
+            if (derived == null) {
+                continue;
+            }
+
+            try {
+                if (!Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalStateException("must be static and not final");
+                }
+
+                String[] names = derived.value();
+                int[] sources = new int[names.length];
+                Class<?>[] parameterTypes = new Class<?>[names.length];
+
+                for (int i = 0; i < names.length; i++) {
+                    ConfigEntry source = entries.get(names[i]);
+
+                    if (source == null) {
+                        throw new IllegalStateException("unknown source entry " + names[i]);
+                    }
+
+                    sources[i] = source.getIndex();
+                    parameterTypes[i] = source.getType();
+                }
+
+                Method method = configClass.getDeclaredMethod(field.getName(), parameterTypes);
+
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    throw new IllegalStateException("compute method must be static");
+                }
+
+                field.setAccessible(true);
+                method.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle compute = lookup.unreflect(method)
+                        .asType(MethodType.methodType(Object.class, parameterTypes))
+                        .asSpreader(Object[].class, names.length);
+                MethodHandle setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class));
+
+                derivedValues.add(new DerivedValue(field.getName(), sources, compute, setter));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalStateException("Error resolving derived value " + field.getName() + " of "
+                        + configClass.getName() + ": " + e.getMessage(), e);
+            }
+        }
+
+        return derivedValues.isEmpty() ? List.of() : Collections.unmodifiableList(derivedValues);
+    }
+
+    private static MethodHandle createRecordConstructor(Class<?> recordClass) {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+        }
+
+        try {
+            Constructor<?> constructor = recordClass.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Error resolving the canonical constructor of " + recordClass.getName(), e);
+        }
+    }
+
+    private static long computeFingerprint(Class<?> configClass, List<ConfigEntry> entries) {
+        // 64-bit FNV-1a over the class name and the name and generic type of every entry.
+        StringBuilder description = new StringBuilder(configClass.getName());
+
+        for (ConfigEntry entry : entries) {
+            description.append('|').append(entry.getName()).append(':').append(entry.getGenericType().getTypeName());
+        }
+
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < description.length(); i++) {
+            hash ^= description.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    public Class<?> getConfigClass() {
+        return configClass;
+    }
+
+    /**
+     * @return the entries of the class, in declaration order
+     */
+    public List<ConfigEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @param name the entry name as it appears in the file
+     * @return the entry, or {@code null} if the class declares no entry with that name
+     */
+    public ConfigEntry getEntry(String name) {
+        return entriesByName.get(name);
+    }
+
+    /**
+     * @return whether the configuration class is a record, whose entries are its components
+     */
+    public boolean isRecord() {
+        return recordConstructor != null;
+    }
+
+    /**
+     * Creates a record configuration through its canonical constructor.
+     *
+     * @param arguments the values of all components, indexed like {@link #getEntries()}
+     * @return the new record
+     */
+    Object newRecord(Object[] arguments) {
+        try {
+            return (Object) recordConstructor.invokeExact(arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error creating " + configClass.getName(), t);
+        }
+    }
+
+    /**
+     * @return the sections of the class keyed by their file name without extension, in declaration order
+     */
+    public Map<String, ConfigSection<?>> getSections() {
+        return sections;
+    }
+
+    /**
+     * Computes the derived values whose source entries are changed by the given values, plus any that have not
+     * been computed yet. Nothing is assigned until the returned action runs, so a failing computation leaves the
+     * configuration unchanged.
+     *
+     * @param values the values about to be applied
+     * @return assigns the computed values
+     * @throws RuntimeException if a derived value cannot be computed
+     */
+    Runnable derive(ConfigValues values) {
+        if (derivedValues.isEmpty()) {
+            return () -> {};
+        }
+
+        List<DerivedValue> stale = new ArrayList<>();
+        List<Object> results = new ArrayList<>();
+
+        for (DerivedValue derived : derivedValues) {
+            int[] sources = derived.getSources();
+
+            if (derived.isComputed() && !changesAny(values, sources)) {
+                continue;
+            }
+
+            Object[] arguments = new Object[sources.length];
+
+            for (int i = 0; i < sources.length; i++) {
+                int index = sources[i];
+                arguments[i] = values.isPresent(index) ? values.get(index) : entries.get(index).get();
+            }
+
+            stale.add(derived);
+            results.add(derived.compute(arguments));
+        }
+
+        return () -> {
+            for (int i = 0; i < stale.size(); i++) {
+                stale.get(i).set(results.get(i));
+            }
+        };
+    }
+
+    private boolean changesAny(ConfigValues values, int[] sources) {
+        for (int index : sources) {
+            if (values.isPresent(index) && !Objects.deepEquals(values.get(index), entries.get(index).get())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the derived values that have not been computed yet from the current entry values,
+     * e.g. after a configuration was created with its defaults instead of being loaded.
+     *
+     * @throws RuntimeException if a derived value cannot be computed
+     */
+    public void computeDerivedValues() {
+        derive(new ConfigValues(this)).run();
+    }
+
+    public boolean hasReloadableEntries() {
+        return hasReloadableEntries;
+    }
+
+    /**
+     * @return a hash of the class name and the names and types of all entries, which changes whenever
+     *         the structure of the configuration class changes
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+}
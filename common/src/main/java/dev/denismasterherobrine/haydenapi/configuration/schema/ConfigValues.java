@@ -0,0 +1,139 @@
+package dev.denismasterherobrine.haydenapi.configuration.schema;
+
+import java.util.Arrays;
+
+/**
+ * Values of the entries of a {@link ConfigSchema}, indexed by {@link ConfigEntry#getIndex()}.
+ *
+ * <p>Format handlers decode a file into values without touching the configuration class, so a file can be
+ * parsed completely before anything is applied. Entries that were missing from the file stay absent
+ * and keep their current value when the values are applied.</p>
+ */
+public final class ConfigValues {
+    private static final Object ABSENT = new Object();
+
+    private final ConfigSchema schema;
+    private final Object[] values;
+
+    public ConfigValues(ConfigSchema schema) {
+        this.schema = schema;
+        this.values = new Object[schema.getEntries().size()];
+        Arrays.fill(values, ABSENT);
+    }
+
+    /**
+     * Reads the current values of all entries of the schema.
+     *
+     * @param schema the schema whose entries to read
+     * @return the current values
+     */
+    public static ConfigValues capture(ConfigSchema schema) {
+        return capture(schema, null);
+    }
+
+    /**
+     * Reads the values of all entries of a configuration.
+     *
+     * @param schema the schema whose entries to read
+     * @param config the configuration instance, only used for record configurations
+     * @return the values of the configuration
+     */
+    public static ConfigValues capture(ConfigSchema schema, Object config) {
+        ConfigValues values = new ConfigValues(schema);
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            values.values[entry.getIndex()] = entry.get(config);
+        }
+
+        return values;
+    }
+
+    public ConfigSchema getSchema() {
+        return schema;
+    }
+
+    public boolean isPresent(int index) {
+        return values[index] != ABSENT;
+    }
+
+    /**
+     * @param index the entry index
+     * @return the value of the entry, or {@code null} if it is absent
+     */
+    public Object get(int index) {
+        Object value = values[index];
+        return value == ABSENT ? null : value;
+    }
+
+    public void set(int index, Object value) {
+        values[index] = value;
+    }
+
+    /**
+     * @return a copy of these values with the entries that are not {@code @Reloadable} absent, so that a hot reload
+     *         keeps their current values
+     */
+    public ConfigValues reloadableOnly() {
+        ConfigValues reloadable = new ConfigValues(schema);
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            if (entry.isReloadable()) {
+                reloadable.values[entry.getIndex()] = values[entry.getIndex()];
+            }
+        }
+
+        return reloadable;
+    }
+
+    /**
+     * Creates a record configuration from these values. Absent entries take their value from the given record.
+     *
+     * @param base the record to take absent values from
+     * @return a new record
+     * @throws IllegalStateException if the schema does not describe a record
+     */
+    public Object toRecord(Object base) {
+        if (!schema.isRecord()) {
+            throw new IllegalStateException(schema.getConfigClass().getName() + " is not a record");
+        }
+
+        Object[] arguments = new Object[values.length];
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+            arguments[index] = isPresent(index) ? values[index] : entry.get(base);
+        }
+
+        return schema.newRecord(arguments);
+    }
+
+    /**
+     * Assigns every present value to its static entry and updates the derived values of changed entries.
+     *
+     * @throws RuntimeException if a derived value cannot be computed; no entry is assigned in that case
+     */
+    public void apply() {
+        prepareApply().run();
+    }
+
+    /**
+     * Computes the derived values of changed entries without assigning anything yet, so that several
+     * configurations can be validated first and then applied together.
+     *
+     * @return an action that assigns every present value and the derived values to the static entries
+     * @throws RuntimeException if a derived value cannot be computed
+     */
+    public Runnable prepareApply() {
+        Runnable derived = schema.derive(this);
+
+        return () -> {
+            for (ConfigEntry entry : schema.getEntries()) {
+                if (isPresent(entry.getIndex())) {
+                    entry.set(values[entry.getIndex()]);
+                }
+            }
+
+            derived.run();
+        };
+    }
+}
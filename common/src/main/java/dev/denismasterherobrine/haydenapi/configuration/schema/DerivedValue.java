@@ -0,0 +1,60 @@
+package dev.denismasterherobrine.haydenapi.configuration.schema;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * A {@code @Derived} field of a configuration class together with the method that computes it.
+ */
+final class DerivedValue {
+    private final String name;
+    private final int[] sources;
+    private final MethodHandle compute;
+    private final MethodHandle setter;
+    private volatile boolean computed;
+
+    /**
+     * @param name    the field name
+     * @param sources the indices of the source entries
+     * @param compute the compute method, adapted to {@code (Object[])Object}
+     * @param setter  the field setter, adapted to {@code (Object)void}
+     */
+    DerivedValue(String name, int[] sources, MethodHandle compute, MethodHandle setter) {
+        this.name = name;
+        this.sources = sources;
+        this.compute = compute;
+        this.setter = setter;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int[] getSources() {
+        return sources;
+    }
+
+    boolean isComputed() {
+        return computed;
+    }
+
+    Object compute(Object[] arguments) {
+        try {
+            return (Object) compute.invokeExact(arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error computing derived value " + name, t);
+        }
+    }
+
+    void set(Object value) {
+        try {
+            setter.invokeExact(value);
+            computed = true;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error assigning derived value " + name, t);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package dev.denismasterherobrine.haydenapi.configuration.section;
+
+import dev.denismasterherobrine.haydenapi.configuration.exception.ConfigurationException;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * A part of a configuration that is stored in its own file and loaded on first access.
+ *
+ * <p>Declare sections as {@code public static final} fields of a {@code @Config} class. When the parent
+ * configuration is initialized, every section is assigned a file in a sub-directory named after the parent file,
+ * e.g. {@code config/examplemod/worldgen.json5} for a {@code worldgen} section of {@code config/examplemod.json5},
+ * in the same format as the parent. The section file is only read the first time {@link #get()} is called.
+ * From then on it is watched and hot-reloaded on its own, without reparsing the parent or other sections.</p>
+ *
+ * <p>The section class is a {@code @Config} class with static entries or a {@code @Config} record, which is
+ * loaded in snapshot mode. Sections can declare sections of their own.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *   &#64;Config
+ *   public class ExampleConfig {
+ *       &#64;Entry
+ *       public static boolean enabled = true;
+ *
+ *       &#64;Section("worldgen")
+ *       public static final ConfigSection&lt;WorldGenConfig&gt; WORLDGEN = new ConfigSection&lt;&gt;(WorldGenConfig.class);
+ *   }
+ *
+ *   int veinSize = ExampleConfig.WORLDGEN.get().veinSize();
+ * </pre>
+ * </p>
+ *
+ * @param <T> the section class
+ */
+public final class ConfigSection<T> {
+    private final Class<T> configClass;
+    private volatile File file;
+    private volatile Loader<T> loader;
+    private volatile Supplier<T> current;
+
+    public ConfigSection(Class<T> configClass) {
+        this.configClass = configClass;
+    }
+
+    public Class<T> getConfigClass() {
+        return configClass;
+    }
+
+    /**
+     * @return the file of the section, or {@code null} if the parent configuration was not initialized yet
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return whether the section file has been loaded
+     */
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    /**
+     * Returns the section, loading its file on first access. For record sections, this is the current snapshot.
+     *
+     * @return the section configuration
+     * @throws IllegalStateException if the parent configuration was not initialized, or the section cannot be
+     *                               loaded
+     */
+    public T get() {
+        Supplier<T> value = current;
+
+        if (value != null) {
+            return value.get();
+        }
+
+        try {
+            return load();
+        } catch (ConfigurationException e) {
+            throw new IllegalStateException("Error loading configuration section " + configClass.getName(), e);
+        }
+    }
+
+    /**
+     * Loads the section file if it has not been loaded yet, e.g. to load it ahead of first use.
+     *
+     * @return the section configuration
+     * @throws ConfigurationException if the section cannot be loaded
+     * @throws IllegalStateException  if the parent configuration was not initialized
+     */
+    public T load() throws ConfigurationException {
+        Supplier<T> value = current;
+
+        if (value == null) {
+            synchronized (this) {
+                value = current;
+
+                if (value == null) {
+                    Loader<T> sectionLoader = loader;
+
+                    if (sectionLoader == null) {
+                        throw new IllegalStateException("Configuration section " + configClass.getName()
+                                + " is accessed before its parent configuration was initialized");
+                    }
+
+                    value = sectionLoader.load();
+                    current = value;
+                }
+            }
+        }
+
+        return value.get();
+    }
+
+    /**
+     * Assigns the file of the section. Called by the configuration manager when the parent is initialized;
+     * binding a loaded section to a different file makes the next access load the new file.
+     *
+     * @param file   the section file
+     * @param loader loads the section file and returns an accessor of the loaded configuration
+     */
+    public synchronized void bind(File file, Loader<T> loader) {
+        if (file.equals(this.file)) {
+            return;
+        }
+
+        this.file = file;
+        this.loader = loader;
+        this.current = null;
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        Supplier<T> load() throws ConfigurationException;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.denismasterherobrine.haydenapi.configuration.snapshot;
+
+/**
+ * One immutable version of a record configuration.
+ *
+ * @param value   the configuration record
+ * @param version the version, starting at 1 for the initial load and incremented by every published change
+ * @param <T>     the configuration record type
+ */
+public record ConfigSnapshot<T extends Record>(T value, long version) {
+}
@@ -0,0 +1,82 @@
+package dev.denismasterherobrine.haydenapi.configuration.snapshot;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * A record configuration that is replaced as a whole on every load.
+ *
+ * <p>Each load or reload builds a new immutable record and publishes it with a single atomic reference swap.
+ * Readers never lock and always see a complete configuration: either the previous or the new one, never a
+ * mix of both. Read {@link #get()} once per operation and keep using that record, so that all values the
+ * operation sees come from the same version.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ *   &#64;Config
+ *   public record SpawnConfig(@Reloadable int maxMobs, List&lt;String&gt; biomes) {
+ *       public SpawnConfig() {
+ *           this(40, List.of("plains"));
+ *       }
+ *   }
+ *
+ *   SnapshotConfig&lt;SpawnConfig&gt; spawns = ConfigurationAPI.createSnapshotConfig("spawns.json5", SpawnConfig.class);
+ *   SpawnConfig current = spawns.get();
+ * </pre>
+ * </p>
+ *
+ * @param <T> the configuration record type
+ */
+public final class SnapshotConfig<T extends Record> {
+    private final Class<T> configClass;
+    private final AtomicReference<ConfigSnapshot<T>> current;
+
+    public SnapshotConfig(Class<T> configClass, T initial) {
+        this.configClass = configClass;
+        this.current = new AtomicReference<>(new ConfigSnapshot<>(initial, 1));
+    }
+
+    public Class<T> getConfigClass() {
+        return configClass;
+    }
+
+    /**
+     * @return the current configuration
+     */
+    public T get() {
+        return current.get().value();
+    }
+
+    /**
+     * @return the current configuration together with its version
+     */
+    public ConfigSnapshot<T> getSnapshot() {
+        return current.get();
+    }
+
+    public long getVersion() {
+        return current.get().version();
+    }
+
+    /**
+     * Replaces the configuration. The new value is not saved to the file.
+     *
+     * @param value the new configuration
+     * @return the published snapshot
+     */
+    public ConfigSnapshot<T> publish(T value) {
+        return update(ignored -> value);
+    }
+
+    /**
+     * Atomically replaces the configuration with a value computed from the current one.
+     * The function may be called more than once if other threads publish concurrently.
+     *
+     * @param function computes the new configuration from the current one
+     * @return the published snapshot
+     */
+    public ConfigSnapshot<T> update(UnaryOperator<T> function) {
+        return current.updateAndGet(previous ->
+                new ConfigSnapshot<>(function.apply(previous.value()), previous.version() + 1));
+    }
+}
@@ -0,0 +1,250 @@
+package dev.denismasterherobrine.haydenapi.configuration.sync;
+
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChange;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigChangeEvent;
+import dev.denismasterherobrine.haydenapi.configuration.listener.ConfigListeners;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigEntry;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+import dev.denismasterherobrine.haydenapi.configuration.snapshot.SnapshotConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mirrors server-authoritative configurations to clients.
+ *
+ * <p>Both sides register the same configurations. When a player joins, the server sends every synced
+ * configuration in full ({@link #encodeAll()}); after a load or reload on the server, only the changed entries
+ * are broadcast as a delta. The client applies received values on top of its own, keeps its local values,
+ * and restores them when it leaves the server ({@link #restoreLocalValues()}). Local reloads during the session
+ * update the kept local values, the values received from the server stay in effect
+ * ({@link #overlayServerValues(ConfigValues)}).</p>
+ *
+ * <p>This class is independent of the networking API; the platform modules transport the messages
+ * and call it on the game thread.</p>
+ */
+public final class ConfigSync {
+    private static final Logger LOGGER = Logger.getLogger(ConfigSync.class.getName());
+
+    private final ConfigListeners listeners;
+    private final ConfigSyncCodec codec = new ConfigSyncCodec();
+    private final Map<Long, SyncedConfig> configs = new ConcurrentHashMap<>();
+    private final Map<Long, ConfigValues> localValues = new ConcurrentHashMap<>();
+    private final Map<Long, ConfigValues> serverValues = new ConcurrentHashMap<>();
+    private volatile Consumer<byte[]> broadcaster;
+
+    public ConfigSync(ConfigListeners listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Registers a configuration with static entries for synchronization.
+     *
+     * @param configClass the configuration class
+     */
+    public void register(Class<?> configClass) {
+        ConfigSchema schema = ConfigSchema.of(configClass);
+        register(new SyncedConfig(schema) {
+            @Override
+            ConfigValues capture() {
+                return ConfigValues.capture(schema);
+            }
+
+            @Override
+            void apply(ConfigValues values) {
+                values.apply();
+            }
+        });
+    }
+
+    /**
+     * Registers a record configuration in snapshot mode for synchronization.
+     * Received values are published to the handle as a new snapshot.
+     *
+     * @param config the handle of the configuration
+     */
+    public <T extends Record> void register(SnapshotConfig<T> config) {
+        ConfigSchema schema = ConfigSchema.of(config.getConfigClass());
+        register(new SyncedConfig(schema) {
+            @Override
+            ConfigValues capture() {
+                return ConfigValues.capture(schema, config.get());
+            }
+
+            @Override
+            void apply(ConfigValues values) {
+                config.publish(config.getConfigClass().cast(values.toRecord(config.get())));
+            }
+        });
+    }
+
+    private void register(SyncedConfig config) {
+        ConfigSchema schema = config.schema;
+
+        if (configs.put(schema.getFingerprint(), config) == null) {
+            listeners.subscribe(schema.getConfigClass(), List.of(), this::broadcastChanges);
+        }
+    }
+
+    /**
+     * Sets where deltas are sent after a configuration changed on the server.
+     *
+     * @param broadcaster sends a message to all remote players, or {@code null} when no server is running
+     */
+    public void setBroadcaster(Consumer<byte[]> broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * @return a full message for every synced configuration, to send to a player that joins
+     */
+    public List<byte[]> encodeAll() {
+        List<byte[]> messages = new ArrayList<>();
+
+        for (SyncedConfig config : configs.values()) {
+            try {
+                messages.add(codec.encode(ConfigSyncCodec.Kind.FULL, config.schema, config.capture()));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error encoding configuration "
+                        + config.schema.getConfigClass().getName() + " for sync: " + e.getMessage(), e);
+            }
+        }
+
+        return messages;
+    }
+
+    private void broadcastChanges(ConfigChangeEvent event) {
+        Consumer<byte[]> target = broadcaster;
+
+        if (target == null) {
+            return;
+        }
+
+        ConfigSchema schema = ConfigSchema.of(event.configClass());
+        ConfigValues delta = new ConfigValues(schema);
+
+        for (ConfigChange change : event.changes().values()) {
+            delta.set(schema.getEntry(change.key()).getIndex(), change.newValue());
+        }
+
+        try {
+            target.accept(codec.encode(ConfigSyncCodec.Kind.DELTA, schema, delta));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error sending changes of configuration " + schema.getConfigClass().getName()
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies a message received from the server. Must be called on the client thread.
+     *
+     * @param message the encoded message
+     * @return whether the message was applied; messages of unknown configurations are ignored
+     */
+    public boolean receive(byte[] message) {
+        ConfigSyncCodec.Message decoded;
+
+        try {
+            decoded = codec.decode(message, fingerprint -> {
+                SyncedConfig config = configs.get(fingerprint);
+                return config != null ? config.schema : null;
+            });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Discarding malformed config sync message: " + e.getMessage(), e);
+            return false;
+        }
+
+        if (decoded == null) {
+            LOGGER.log(Level.FINE, "Ignoring config sync message of a configuration that is not registered here");
+            return false;
+        }
+
+        synchronized (this) {
+            ConfigSchema schema = decoded.schema();
+            SyncedConfig config = configs.get(schema.getFingerprint());
+            ConfigValues before = config.capture();
+            localValues.putIfAbsent(schema.getFingerprint(), before);
+            ConfigValues server = serverValues.computeIfAbsent(schema.getFingerprint(), key -> new ConfigValues(schema));
+
+            for (ConfigEntry entry : schema.getEntries()) {
+                if (decoded.values().isPresent(entry.getIndex())) {
+                    server.set(entry.getIndex(), decoded.values().get(entry.getIndex()));
+                }
+            }
+
+            config.apply(decoded.values());
+            listeners.publish(before, config.capture());
+            return true;
+        }
+    }
+
+    /**
+     * Takes a local reload of a configuration into account while it holds values received from a server.
+     * The reloaded values become the local values that {@link #restoreLocalValues()} restores, and the values
+     * received from the server are put on top of them, so that the reload does not override them.
+     *
+     * @param reloaded the values read from the local file
+     * @return the values to apply; {@code reloaded} itself if the configuration holds no values from a server
+     */
+    public synchronized ConfigValues overlayServerValues(ConfigValues reloaded) {
+        ConfigSchema schema = reloaded.getSchema();
+        ConfigValues server = serverValues.get(schema.getFingerprint());
+
+        if (server == null) {
+            return reloaded;
+        }
+
+        ConfigValues local = localValues.get(schema.getFingerprint());
+        ConfigValues merged = new ConfigValues(schema);
+
+        for (ConfigEntry entry : schema.getEntries()) {
+            int index = entry.getIndex();
+
+            if (reloaded.isPresent(index)) {
+                local.set(index, reloaded.get(index));
+                merged.set(index, reloaded.get(index));
+            }
+
+            if (server.isPresent(index)) {
+                merged.set(index, server.get(index));
+            }
+        }
+
+        return merged;
+    }
+
+    /**
+     * Restores the local values of every configuration that received values from a server, including local
+     * reloads during the session. Called when the client leaves the server.
+     */
+    public synchronized void restoreLocalValues() {
+        for (Map.Entry<Long, ConfigValues> local : localValues.entrySet()) {
+            SyncedConfig config = configs.get(local.getKey());
+            ConfigValues before = config.capture();
+            config.apply(local.getValue());
+            listeners.publish(before, config.capture());
+        }
+
+        localValues.clear();
+        serverValues.clear();
+    }
+
+    private abstract static class SyncedConfig {
+        final ConfigSchema schema;
+
+        SyncedConfig(ConfigSchema schema) {
+            this.schema = schema;
+        }
+
+        abstract ConfigValues capture();
+
+        abstract void apply(ConfigValues values);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.denismasterherobrine.haydenapi.configuration.sync;
+
+import dev.denismasterherobrine.haydenapi.configuration.format.SmileConfigurationHandler;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigSchema;
+import dev.denismasterherobrine.haydenapi.configuration.schema.ConfigValues;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.LongFunction;
+
+/**
+ * Binary encoding of configuration sync messages.
+ *
+ * <p>A message starts with a version byte, the message kind and the {@linkplain ConfigSchema#getFingerprint()
+ * schema fingerprint} of the configuration class, followed by the entries in Smile form. Full messages carry
+ * every entry, deltas only the entries that changed. The fingerprint identifies the configuration on the
+ * receiving side and rejects messages from a different version of the class.</p>
+ */
+public final class ConfigSyncCodec {
+    private static final int VERSION = 1;
+
+    /**
+     * @param kind   whether the message carries all entries or only changed ones
+     * @param schema the schema of the configuration class
+     * @param values the values to send, absent entries are left out
+     * @return the encoded message
+     * @throws IOException if a value cannot be encoded
+     */
+    public byte[] encode(Kind kind, ConfigSchema schema, ConfigValues values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(VERSION);
+        out.writeByte(kind.ordinal());
+        out.writeLong(schema.getFingerprint());
+        out.flush();
+        SmileConfigurationHandler.getShared().write(bytes, schema, values);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param message the encoded message
+     * @param schemas looks up the schema of a fingerprint, returning {@code null} for unknown fingerprints
+     * @return the decoded message, or {@code null} if its configuration is unknown to the receiver
+     * @throws IOException if the message is malformed
+     */
+    public Message decode(byte[] message, LongFunction<ConfigSchema> schemas) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+        int version = in.readUnsignedByte();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported config sync message version " + version);
+        }
+
+        int kind = in.readUnsignedByte();
+
+        if (kind >= Kind.values().length) {
+            throw new IOException("Unknown config sync message kind " + kind);
+        }
+
+        ConfigSchema schema = schemas.apply(in.readLong());
+
+        if (schema == null) {
+            return null;
+        }
+
+        int headerLength = message.length - in.available();
+        ConfigValues values = SmileConfigurationHandler.getShared().read(message, headerLength,
+                message.length - headerLength, schema);
+        return new Message(Kind.values()[kind], schema, values);
+    }
+
+    public enum Kind {
+        FULL, DELTA
+    }
+
+    /**
+     * A decoded sync message.
+     *
+     * @param kind   whether the message carries all entries or only changed ones
+     * @param schema the schema of the configuration class
+     * @param values the received values, entries that were not sent are absent
+     */
+    public record Message(Kind kind, ConfigSchema schema, ConfigValues values) {
+    }
+}
@@ -0,0 +1,170 @@
+package dev.denismasterherobrine.haydenapi.configuration.watch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The JVM-wide watcher for configuration files.
+ *
+ * <p>All configurations share one backend: by default a single native {@link java.nio.file.WatchService}
+ * thread that registers each directory once, falling back to batched polling for files that cannot be watched
+ * natively. Change notifications are routed to listeners through an index of watched file paths.</p>
+ *
+ * <p>Bursts of events for the same file, as produced by editors that write a file in several steps,
+ * are collapsed: listeners run once the file has been quiet for the debounce window
+ * ({@code haydenapi.config.reloadDebounceMs}, 250 ms by default).</p>
+ *
+ * <p>The backend can be forced with the {@code haydenapi.config.watcher} system property
+ * ({@code native} or {@code polling}).</p>
+ */
+public final class ConfigWatcher {
+    private static final Logger LOGGER = Logger.getLogger(ConfigWatcher.class.getName());
+    private static final ConfigWatcher INSTANCE = new ConfigWatcher();
+
+    private final Map<Path, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final Map<Path, WatchBackend> backends = new ConcurrentHashMap<>();
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HaydenAPI Config Reloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final boolean pollingOnly = "polling".equalsIgnoreCase(System.getProperty("haydenapi.config.watcher"));
+    private WatchBackend nativeBackend;
+    private WatchBackend pollingBackend;
+    private volatile long debounceMs = Long.getLong("haydenapi.config.reloadDebounceMs", 250);
+
+    private ConfigWatcher() {}
+
+    public static ConfigWatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the quiet period a file must have after its last change before listeners are notified.
+     *
+     * @param debounce the debounce window, {@link Duration#ZERO} to notify on every event
+     */
+    public void setDebounce(Duration debounce) {
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce window must not be negative: " + debounce);
+        }
+
+        debounceMs = debounce.toMillis();
+    }
+
+    public Duration getDebounce() {
+        return Duration.ofMillis(debounceMs);
+    }
+
+    /**
+     * Starts watching a file. The listener is invoked on the reloader thread once the file has changed
+     * and the debounce window has passed.
+     *
+     * @param file     the file to watch
+     * @param listener the callback to invoke on change
+     * @return a registration that stops delivering changes to the listener when cancelled
+     */
+    public synchronized Registration watch(Path file, Runnable listener) {
+        Path key = file.toAbsolutePath().normalize();
+        List<Runnable> fileListeners = listeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        fileListeners.add(listener);
+
+        if (!backends.containsKey(key)) {
+            backends.put(key, register(key));
+        }
+
+        return () -> unwatch(key, listener);
+    }
+
+    private synchronized void unwatch(Path key, Runnable listener) {
+        List<Runnable> fileListeners = listeners.get(key);
+
+        if (fileListeners == null || !fileListeners.remove(listener) || !fileListeners.isEmpty()) {
+            return;
+        }
+
+        listeners.remove(key);
+        WatchBackend backend = backends.remove(key);
+
+        if (backend != null) {
+            backend.unregister(key);
+        }
+    }
+
+    private WatchBackend register(Path file) {
+        if (!pollingOnly) {
+            try {
+                if (nativeBackend == null) {
+                    nativeBackend = new NativeWatchBackend(this::dispatch);
+                }
+
+                nativeBackend.register(file);
+                return nativeBackend;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Native file watching unavailable for " + file
+                        + ", falling back to polling: " + e.getMessage());
+            }
+        }
+
+        if (pollingBackend == null) {
+            pollingBackend = new PollingWatchBackend(this::dispatch);
+        }
+
+        try {
+            pollingBackend.register(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error watching configuration file " + file + ": " + e.getMessage(), e);
+        }
+
+        return pollingBackend;
+    }
+
+    private void dispatch(Path file) {
+        if (!listeners.containsKey(file)) {
+            return;
+        }
+
+        ScheduledFuture<?> previous = pending.put(file,
+                scheduler.schedule(() -> notifyListeners(file), debounceMs, TimeUnit.MILLISECONDS));
+
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void notifyListeners(Path file) {
+        List<Runnable> fileListeners = listeners.get(file);
+
+        if (fileListeners == null) {
+            return;
+        }
+
+        for (Runnable listener : fileListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error handling change of " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A handle to a listener added through {@link #watch(Path, Runnable)}.
+     */
+    @FunctionalInterface
+    public interface Registration {
+        void cancel();
+    }
+}
@@ -0,0 +1,64 @@
+package dev.denismasterherobrine.haydenapi.configuration.watch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Identifies a version of a file by its size, modification time and a CRC32C hash of its content.
+ *
+ * <p>The size and modification time are a cheap first check, the content hash catches rewrites
+ * that touch the file without changing it.</p>
+ *
+ * @param size        the file size in bytes
+ * @param modified    the modification time in nanoseconds since the epoch
+ * @param contentHash the CRC32C hash of the file content
+ */
+public record FileFingerprint(long size, long modified, long contentHash) {
+    /**
+     * Reads the file and computes its fingerprint.
+     *
+     * @param file the file
+     * @return the fingerprint of the current file content
+     * @throws IOException if the file cannot be read
+     */
+    public static FileFingerprint of(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return of(attributes, Files.readAllBytes(file));
+    }
+
+    /**
+     * Computes the fingerprint of file content that was already read.
+     *
+     * @param attributes the attributes of the file, read before its content
+     * @param content    the file content
+     * @return the fingerprint
+     */
+    public static FileFingerprint of(BasicFileAttributes attributes, byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return new FileFingerprint(content.length, attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                crc.getValue());
+    }
+
+    /**
+     * @param file the file
+     * @return {@code true} if the file still has the size and modification time of this fingerprint
+     * @throws IOException if the file attributes cannot be read
+     */
+    public boolean matchesStamp(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.size() == size && attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) == modified;
+    }
+
+    /**
+     * @param other another fingerprint of the same file
+     * @return {@code true} if both fingerprints describe the same content
+     */
+    public boolean matchesContent(FileFingerprint other) {
+        return other.size == size && other.contentHash == contentHash;
+    }
+}
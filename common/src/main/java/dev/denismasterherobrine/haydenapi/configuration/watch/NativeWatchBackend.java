@@ -0,0 +1,117 @@
+package dev.denismasterherobrine.haydenapi.configuration.watch;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link WatchBackend} on top of a single {@link WatchService}.
+ * Every directory is registered once no matter how many configuration files live in it,
+ * and one daemon thread serves all of them.
+ */
+final class NativeWatchBackend implements WatchBackend {
+    private static final Logger LOGGER = Logger.getLogger(NativeWatchBackend.class.getName());
+
+    private final Consumer<Path> dispatcher;
+    private final Map<Path, WatchKey> keysByDirectory = new HashMap<>();
+    private final Map<Path, Set<Path>> filesByDirectory = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> directoriesByKey = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    NativeWatchBackend(Consumer<Path> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public synchronized void register(Path file) throws IOException {
+        Path dir = file.getParent();
+
+        if (dir == null) {
+            throw new IOException("File " + file + " has no parent directory to watch");
+        }
+
+        if (!keysByDirectory.containsKey(dir)) {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                startThread(watchService);
+            }
+
+            // Atomic saves replace the file through a rename, which is reported as a create. Deletes are reported
+            // too, a deleted layer file removes its overrides.
+            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            keysByDirectory.put(dir, key);
+            directoriesByKey.put(key, dir);
+        }
+
+        filesByDirectory.computeIfAbsent(dir, d -> ConcurrentHashMap.newKeySet()).add(file);
+    }
+
+    @Override
+    public synchronized void unregister(Path file) {
+        Path dir = file.getParent();
+        Set<Path> files = filesByDirectory.get(dir);
+
+        if (files == null || !files.remove(file)) {
+            return;
+        }
+
+        if (files.isEmpty()) {
+            filesByDirectory.remove(dir);
+            WatchKey key = keysByDirectory.remove(dir);
+
+            if (key != null) {
+                directoriesByKey.remove(key);
+                key.cancel();
+            }
+        }
+    }
+
+    private void startThread(WatchService service) {
+        Thread thread = new Thread(() -> run(service), "HaydenAPI Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Path dir = directoriesByKey.get(key);
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (dir == null) {
+                        continue;
+                    }
+
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, so any file of the directory may have changed.
+                        filesByDirectory.getOrDefault(dir, Set.of()).forEach(dispatcher);
+                    } else {
+                        dispatcher.accept(dir.resolve((Path) event.context()));
+                    }
+                }
+
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // The watch service was shut down, nothing left to watch.
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Configuration watcher stopped unexpectedly: " + e.getMessage(), e);
+        }
+    }
+}
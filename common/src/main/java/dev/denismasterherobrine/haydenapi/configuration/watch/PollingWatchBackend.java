@@ -0,0 +1,89 @@
+package dev.denismasterherobrine.haydenapi.configuration.watch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link WatchBackend} that compares file size and modification time of all watched files in one batch.
+ * Used where native watches are unavailable or exhausted, for example on container filesystems.
+ *
+ * <p>The polling interval adapts to activity: it drops to the minimum as soon as a change is seen
+ * and doubles after every quiet pass up to the maximum.</p>
+ */
+final class PollingWatchBackend implements WatchBackend {
+    private static final Logger LOGGER = Logger.getLogger(PollingWatchBackend.class.getName());
+    private static final long MIN_INTERVAL_MS = Long.getLong("haydenapi.config.pollMinIntervalMs", 500);
+    private static final long MAX_INTERVAL_MS = Long.getLong("haydenapi.config.pollMaxIntervalMs", 8000);
+
+    private final Consumer<Path> dispatcher;
+    private final Map<Path, FileStamp> stamps = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+    private long intervalMs = MIN_INTERVAL_MS;
+
+    PollingWatchBackend(Consumer<Path> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public synchronized void register(Path file) {
+        stamps.putIfAbsent(file, FileStamp.of(file));
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "HaydenAPI Config Poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.schedule(this::poll, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void unregister(Path file) {
+        stamps.remove(file);
+    }
+
+    private void poll() {
+        boolean changed = false;
+
+        try {
+            for (Map.Entry<Path, FileStamp> entry : stamps.entrySet()) {
+                FileStamp current = FileStamp.of(entry.getKey());
+
+                if (!current.equals(entry.getValue())) {
+                    entry.setValue(current);
+                    changed = true;
+                    dispatcher.accept(entry.getKey());
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error polling configuration files: " + e.getMessage(), e);
+        }
+
+        intervalMs = changed ? MIN_INTERVAL_MS : Math.min(intervalMs * 2, MAX_INTERVAL_MS);
+        executor.schedule(this::poll, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private record FileStamp(long size, long modified) {
+        private static final FileStamp MISSING = new FileStamp(-1, -1);
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.denismasterherobrine.haydenapi.configuration.watch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A source of file change notifications for {@link ConfigWatcher}.
+ * Backends report changed files through the watcher's path index and never invoke listeners themselves.
+ */
+interface WatchBackend {
+    /**
+     * Starts watching the given file. Implementations must tolerate repeated calls for the same file
+     * or for several files in the same directory.
+     *
+     * @param file the absolute, normalized file path
+     * @throws IOException if the backend cannot watch the file
+     */
+    void register(Path file) throws IOException;
+
+    /**
+     * Stops watching the given file. Directories stay registered while other files in them are watched.
+     *
+     * @param file the absolute, normalized file path
+     */
+    void unregister(Path file);
+}
@@ -0,0 +1,26 @@
+package dev.denismasterherobrine.haydenapi.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import dev.denismasterherobrine.haydenapi.HaydenAPI;
+
+/**
+ * Carries one configuration sync message from the server to a client.
+ *
+ * @param data the message encoded by {@link dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSyncCodec}
+ */
+public record ConfigSyncPayload(byte[] data) implements CustomPacketPayload {
+    public static final Type<ConfigSyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(HaydenAPI.MOD_ID, "config_sync"));
+    public static final StreamCodec<ByteBuf, ConfigSyncPayload> STREAM_CODEC =
+            ByteBufCodecs.BYTE_ARRAY.map(ConfigSyncPayload::new, ConfigSyncPayload::data);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
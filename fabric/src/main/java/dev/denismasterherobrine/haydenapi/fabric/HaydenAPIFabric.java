@@ -1,8 +1,12 @@
 package dev.denismasterherobrine.haydenapi.fabric;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 
 import dev.denismasterherobrine.haydenapi.HaydenAPI;
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.fabric.network.FabricConfigSync;
+import dev.denismasterherobrine.haydenapi.configuration.listener.MainThreadExecutor;
 
 public final class HaydenAPIFabric implements ModInitializer {
     @Override
@@ -11,6 +15,16 @@ public final class HaydenAPIFabric implements ModInitializer {
         // However, some things (like resources) may still be uninitialized.
         // Proceed with mild caution.
 
+        // Deliver configuration changes on the server thread while a server is running.
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> MainThreadExecutor.getInstance().setServerExecutor(server));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> MainThreadExecutor.getInstance().setServerExecutor(null));
+
+        // Parse lazy configurations that were not accessed during startup in the background.
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> ConfigurationAPI.loadLazyConfigsAsync());
+
+        // Mirror server-authoritative configurations to clients.
+        FabricConfigSync.init();
+
         // Run our common setup.
         HaydenAPI.init();
     }
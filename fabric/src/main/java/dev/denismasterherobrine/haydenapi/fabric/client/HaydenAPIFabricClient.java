@@ -1,10 +1,30 @@
 package dev.denismasterherobrine.haydenapi.fabric.client;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.configuration.listener.MainThreadExecutor;
+import dev.denismasterherobrine.haydenapi.network.ConfigSyncPayload;
 
 public final class HaydenAPIFabricClient implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
         // This entrypoint is suitable for setting up client-specific logic, such as rendering.
+
+        // Deliver configuration changes on the render thread when no server is running.
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> MainThreadExecutor.getInstance().setClientExecutor(client));
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> MainThreadExecutor.getInstance().setClientExecutor(null));
+
+        // Parse lazy configurations that were not accessed during startup in the background.
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> ConfigurationAPI.loadLazyConfigsAsync());
+
+        // Apply configurations synced by the server, and restore the local ones when leaving it.
+        ClientPlayNetworking.registerGlobalReceiver(ConfigSyncPayload.TYPE,
+                (payload, context) -> ConfigurationAPI.getConfigSync().receive(payload.data()));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) ->
+                client.execute(() -> ConfigurationAPI.getConfigSync().restoreLocalValues()));
     }
 }
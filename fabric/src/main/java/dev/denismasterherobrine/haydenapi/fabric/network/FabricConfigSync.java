@@ -0,0 +1,49 @@
+package dev.denismasterherobrine.haydenapi.fabric.network;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync;
+import dev.denismasterherobrine.haydenapi.network.ConfigSyncPayload;
+
+/**
+ * Sends synced configurations to players: in full when they join, as deltas after a change on the server.
+ * The host of a singleplayer or LAN world shares the configuration with the server and is skipped, as are clients
+ * without HaydenAPI, which keep their own values.
+ */
+public final class FabricConfigSync {
+    private FabricConfigSync() {}
+
+    public static void init() {
+        PayloadTypeRegistry.playS2C().register(ConfigSyncPayload.TYPE, ConfigSyncPayload.STREAM_CODEC);
+        ConfigSync sync = ConfigurationAPI.getConfigSync();
+
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> sync.setBroadcaster(data -> {
+            for (ServerPlayer player : PlayerLookup.all(server)) {
+                if (isRemote(server, player) && ServerPlayNetworking.canSend(player, ConfigSyncPayload.TYPE)) {
+                    ServerPlayNetworking.send(player, new ConfigSyncPayload(data));
+                }
+            }
+        }));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> sync.setBroadcaster(null));
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (isRemote(server, handler.getPlayer())
+                    && ServerPlayNetworking.canSend(handler, ConfigSyncPayload.TYPE)) {
+                for (byte[] message : sync.encodeAll()) {
+                    sender.sendPacket(new ConfigSyncPayload(message));
+                }
+            }
+        });
+    }
+
+    private static boolean isRemote(MinecraftServer server, ServerPlayer player) {
+        return !server.isSingleplayerOwner(player.getGameProfile());
+    }
+}
@@ -1,12 +1,30 @@
 package dev.denismasterherobrine.neoforge;
 
+import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.event.lifecycle.FMLLoadCompleteEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 
 import dev.denismasterherobrine.haydenapi.HaydenAPI;
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.configuration.listener.MainThreadExecutor;
+import dev.denismasterherobrine.neoforge.network.NeoForgeConfigSync;
 
 @Mod(HaydenAPI.MOD_ID)
 public final class HaydenAPINeoForge {
-    public HaydenAPINeoForge() {
+    public HaydenAPINeoForge(IEventBus modEventBus) {
+        // Deliver configuration changes on the server thread while a server is running.
+        NeoForge.EVENT_BUS.addListener((ServerStartingEvent event) -> MainThreadExecutor.getInstance().setServerExecutor(event.getServer()));
+        NeoForge.EVENT_BUS.addListener((ServerStoppedEvent event) -> MainThreadExecutor.getInstance().setServerExecutor(null));
+
+        // Parse lazy configurations that were not accessed during startup in the background.
+        modEventBus.addListener((FMLLoadCompleteEvent event) -> ConfigurationAPI.loadLazyConfigsAsync());
+
+        // Mirror server-authoritative configurations to clients.
+        NeoForgeConfigSync.init(modEventBus);
+
         // Run our common setup.
         HaydenAPI.init();
     }
@@ -0,0 +1,24 @@
+package dev.denismasterherobrine.neoforge.client;
+
+import net.minecraft.client.Minecraft;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.common.NeoForge;
+
+import dev.denismasterherobrine.haydenapi.HaydenAPI;
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.configuration.listener.MainThreadExecutor;
+
+@Mod(value = HaydenAPI.MOD_ID, dist = Dist.CLIENT)
+public final class HaydenAPINeoForgeClient {
+    public HaydenAPINeoForgeClient(IEventBus modEventBus) {
+        // Deliver configuration changes on the render thread when no server is running.
+        modEventBus.addListener((FMLClientSetupEvent event) -> MainThreadExecutor.getInstance().setClientExecutor(Minecraft.getInstance()));
+
+        // Restore the local configurations when leaving a server that synced its own.
+        NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingOut event) -> ConfigurationAPI.getConfigSync().restoreLocalValues());
+    }
+}
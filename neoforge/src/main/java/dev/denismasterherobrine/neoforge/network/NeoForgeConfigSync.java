@@ -0,0 +1,58 @@
+package dev.denismasterherobrine.neoforge.network;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+
+import dev.denismasterherobrine.haydenapi.configuration.api.ConfigurationAPI;
+import dev.denismasterherobrine.haydenapi.configuration.sync.ConfigSync;
+import dev.denismasterherobrine.haydenapi.network.ConfigSyncPayload;
+
+/**
+ * Sends synced configurations to players: in full when they join, as deltas after a change on the server.
+ * The host of a singleplayer or LAN world shares the configuration with the server and is skipped. The channel is
+ * optional, so clients without HaydenAPI can still join; they keep their own values.
+ */
+public final class NeoForgeConfigSync {
+    private NeoForgeConfigSync() {}
+
+    public static void init(IEventBus modEventBus) {
+        ConfigSync sync = ConfigurationAPI.getConfigSync();
+
+        // Payload handlers run on the game thread.
+        modEventBus.addListener((RegisterPayloadHandlersEvent event) -> event.registrar("1").optional().playToClient(
+                ConfigSyncPayload.TYPE, ConfigSyncPayload.STREAM_CODEC,
+                (payload, context) -> sync.receive(payload.data())));
+
+        NeoForge.EVENT_BUS.addListener((ServerStartingEvent event) -> {
+            MinecraftServer server = event.getServer();
+            sync.setBroadcaster(data -> {
+                for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                    if (canReceive(server, player)) {
+                        PacketDistributor.sendToPlayer(player, new ConfigSyncPayload(data));
+                    }
+                }
+            });
+        });
+        NeoForge.EVENT_BUS.addListener((ServerStoppedEvent event) -> sync.setBroadcaster(null));
+
+        NeoForge.EVENT_BUS.addListener((PlayerEvent.PlayerLoggedInEvent event) -> {
+            if (event.getEntity() instanceof ServerPlayer player && canReceive(player.server, player)) {
+                for (byte[] message : sync.encodeAll()) {
+                    PacketDistributor.sendToPlayer(player, new ConfigSyncPayload(message));
+                }
+            }
+        });
+    }
+
+    private static boolean canReceive(MinecraftServer server, ServerPlayer player) {
+        return !server.isSingleplayerOwner(player.getGameProfile())
+                && player.connection.hasChannel(ConfigSyncPayload.TYPE);
+    }
+}